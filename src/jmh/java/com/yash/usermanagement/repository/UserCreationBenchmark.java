@@ -0,0 +1,115 @@
+package com.yash.usermanagement.repository;
+
+import com.yash.usermanagement.model.Gender;
+import com.yash.usermanagement.model.User;
+import com.yash.usermanagement.model.UserRole;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.env.Environment;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent user creates against a real Postgres, comparing the old check-then-insert
+ * ({@code existsByEmail} followed by {@code save}, two round trips with a window between them) with
+ * {@code insertIfEmailAbsent}, one {@code INSERT ... ON CONFLICT (email) DO NOTHING}. Every create uses a
+ * new email, so both paths do the same inserts and the difference is the extra round trip per create.
+ * Password hashing is left out on purpose: it is the same on both paths and would drown the difference.
+ * <p>
+ * Needs the database from {@code r2dbc.datasources.default} with {@code db/users_email_unique.sql} applied;
+ * point it elsewhere with {@code -Dr2dbc.datasources.default.url=...}. Rows it creates are deleted at the
+ * end of each trial. Run with {@code ./gradlew jmh -Pjmh.includes=UserCreationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class UserCreationBenchmark {
+
+    private static final String EMAIL_PREFIX = "create-benchmark-";
+    // Stands in for a bcrypt hash of the right length
+    private static final String PASSWORD = "$2a$12$" + "x".repeat(53);
+
+    @Param({"checkThenInsert", "insertIfEmailAbsent"})
+    public String path;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationContext.builder()
+                .environments(Environment.TEST)
+                .properties(Map.of(
+                        "users.security.revocation.broadcast.enabled", "false",
+                        "notification.outbox.dispatcher.enabled", "false"))
+                .start();
+        userRepository = context.getBean(UserRepository.class);
+        deleteBenchmarkUsers();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteBenchmarkUsers();
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        User user = newUser();
+        if ("checkThenInsert".equals(path)) {
+            return userRepository.existsByEmail(user.getEmail())
+                    .flatMap(exists -> exists ? Mono.<User>empty() : userRepository.save(user))
+                    .block();
+        }
+        return userRepository.insertIfEmailAbsent(user.getId(), user.getFirstName(), user.getLastName(),
+                user.getEmail(), user.getPassword(), user.getGender().name(), user.getDateOfBirth(),
+                user.getPhoneNumber(), user.getRole().name(), null).block();
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail(EMAIL_PREFIX + sequence.incrementAndGet() + "-" + UUID.randomUUID() + "@example.com");
+        user.setPassword(PASSWORD);
+        user.setGender(Gender.OTHER);
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        user.setPhoneNumber("+15550100");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+
+    private void deleteBenchmarkUsers() {
+        ConnectionFactory connectionFactory = context.getBean(ConnectionFactory.class);
+        Mono.usingWhen(connectionFactory.create(),
+                        connection -> Flux.from(connection.createStatement("DELETE FROM users WHERE email LIKE $1")
+                                        .bind("$1", EMAIL_PREFIX + "%")
+                                        .execute())
+                                .flatMap(Result::getRowsUpdated)
+                                .then(),
+                        Connection::close)
+                .block();
+    }
+}
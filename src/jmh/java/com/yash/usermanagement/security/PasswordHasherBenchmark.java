@@ -0,0 +1,59 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login verify latency per bcrypt cost. {@code verify} is the raw CPU cost of one check;
+ * {@code verifyUnderLoad} goes through the bounded pool with more callers than hashing threads, which is
+ * what a burst of logins looks like. Choose the highest cost whose p0.99 from the second benchmark still
+ * fits the login latency budget, and set it as {@code users.security.password.cost}.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=PasswordHasherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHasherBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private PasswordHasher hasher;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hasher = new PasswordHasher(new SimpleMeterRegistry(), cost, 0, 1024);
+        storedHash = hasher.hash("Benchmark@123").block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Boolean verify() {
+        return hasher.verify("Benchmark@123", storedHash).block();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Boolean verifyUnderLoad() {
+        return hasher.verify("Benchmark@123", storedHash).block();
+    }
+}
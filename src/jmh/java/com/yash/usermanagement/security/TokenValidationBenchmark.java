@@ -0,0 +1,88 @@
+package com.yash.usermanagement.security;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.env.Environment;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.generator.TokenGenerator;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token overhead before and after {@link CachingTokenValidator}, using the beans the
+ * application itself wires: the token comes from the configured {@link TokenGenerator} with the claims a
+ * login issues, {@code uncached} runs it through Micronaut's {@link JwtTokenValidator} (parse, signature
+ * check against the key ring, claim validators, {@link Authentication} mapping), and {@code cached} goes
+ * through the {@link CachingTokenValidator} bean with the token already seen.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TokenValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenValidationBenchmark {
+
+    private ApplicationContext context;
+    private String token;
+    private JwtTokenValidator<?> jwtValidator;
+    private CachingTokenValidator cachingValidator;
+
+    @Setup
+    public void setUp() {
+        // No server and no background jobs that need the database; validation never touches it
+        context = ApplicationContext.builder()
+                .environments(Environment.TEST)
+                .properties(Map.of(
+                        "users.security.revocation.broadcast.enabled", "false",
+                        "notification.outbox.dispatcher.enabled", "false"))
+                .start();
+        long issuedAt = Instant.now().getEpochSecond();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.JTI, UUID.randomUUID().toString());
+        claims.put(TokenClaims.ISSUED_AT, issuedAt);
+        claims.put(TokenClaims.EXPIRATION, issuedAt + 3600);
+        claims.put(TokenClaims.SESSION_ID, UUID.randomUUID().toString());
+        claims.put("sub", "user@example.com");
+        claims.put("userId", UUID.randomUUID().toString());
+        claims.put("email", "user@example.com");
+        claims.put("roles", "USER");
+        claims.put("firstname", "John");
+        claims.put("lastname", "Doe");
+        token = context.getBean(TokenGenerator.class).generateToken(claims)
+                .orElseThrow(() -> new IllegalStateException("No token generated"));
+
+        jwtValidator = context.getBean(JwtTokenValidator.class);
+        cachingValidator = context.getBean(CachingTokenValidator.class);
+        if (uncached() == null || cached() == null) {
+            throw new IllegalStateException("Benchmark token does not validate");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication uncached() {
+        return Mono.from(jwtValidator.validateToken(token, null)).block();
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return Mono.from(cachingValidator.validateToken(token, null)).block();
+    }
+}
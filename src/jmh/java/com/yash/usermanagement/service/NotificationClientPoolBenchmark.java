@@ -0,0 +1,95 @@
+package com.yash.usermanagement.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.http.client.HttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification throughput per connection pool size, against a local stub that answers every POST after
+ * {@code serviceLatencyMillis}, the way the notification service spends its time on I/O. With HTTP/1.1
+ * each connection carries one request at a time, so throughput grows with the pool until it reaches the
+ * number of concurrent callers; past that point more connections buy nothing. Use it to size
+ * {@code micronaut.http.services.notification.pool.max-concurrent-http1-connections} for the expected
+ * notification concurrency.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=NotificationClientPoolBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NotificationClientPoolBenchmark {
+
+    private static final String BODY = "{\"email\":\"user@example.com\",\"message\":\"Your account was deleted\"}";
+
+    @Param({"1", "4", "16", "64"})
+    public int poolSize;
+
+    @Param({"5"})
+    public int serviceLatencyMillis;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverThreads = Executors.newFixedThreadPool(128);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(serviceLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration();
+        configuration.setConnectTimeout(Duration.ofSeconds(2));
+        configuration.setReadTimeout(Duration.ofSeconds(10));
+        configuration.getConnectionPoolConfiguration().setEnabled(true);
+        configuration.getConnectionPoolConfiguration().setMaxConcurrentHttp1Connections(poolSize);
+        configuration.getConnectionPoolConfiguration().setMaxPendingAcquires(10_000);
+        client = HttpClient.create(new URL("http://127.0.0.1:" + server.getAddress().getPort()), configuration);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int send() {
+        return client.toBlocking()
+                .exchange(HttpRequest.POST("/notify/account-deletion", BODY).contentType(MediaType.APPLICATION_JSON_TYPE))
+                .getStatus().getCode();
+    }
+}
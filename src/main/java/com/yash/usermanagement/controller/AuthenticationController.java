@@ -2,17 +2,21 @@ package com.yash.usermanagement.controller;
 
 import com.yash.usermanagement.dto.LoginRequestDTO;
 import com.yash.usermanagement.dto.LoginResponseDTO;
+import com.yash.usermanagement.dto.RefreshTokenRequest;
 import com.yash.usermanagement.dto.FcmRegistrationRequest;
 import com.yash.usermanagement.exception.AuthenticationException;
+import com.yash.usermanagement.security.LoginRateLimiter;
 import com.yash.usermanagement.service.AuthenticationService;
 import com.yash.usermanagement.service.UserService;
 import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,18 +35,36 @@ public class AuthenticationController {
     private static final Logger LOG = LoggerFactory.getLogger(AuthenticationController.class);
     private final AuthenticationService authenticationService;
     private final UserService userService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final HttpClientAddressResolver clientAddressResolver;
 
-    public AuthenticationController(AuthenticationService authenticationService, UserService userService) {
+    public AuthenticationController(AuthenticationService authenticationService, UserService userService,
+            LoginRateLimiter loginRateLimiter, HttpClientAddressResolver clientAddressResolver) {
         this.authenticationService = authenticationService;
         this.userService = userService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     @Post("/login")
     @Operation(summary = "Login user")
     @Secured(SecurityRule.IS_ANONYMOUS)
-    public Mono<HttpResponse<LoginResponseDTO>> login(@Body @Valid LoginRequestDTO loginRequest) {
-        LOG.info("Login request received for user: {}", loginRequest.getEmail());
-        return authenticationService.login(loginRequest)
+    public Mono<HttpResponse<LoginResponseDTO>> login(@Body @Valid LoginRequestDTO loginRequest,
+            HttpRequest<?> request) {
+        // Admission is decided before anything else so shed attempts cost no database or hashing work
+        return loginRateLimiter.admit(loginRequest.getEmail(), clientAddressResolver.resolve(request), () -> {
+            LOG.info("Login request received for user: {}", loginRequest.getEmail());
+            return authenticationService.login(loginRequest);
+        })
+                .map(HttpResponse::ok);
+    }
+
+    @Post("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access and refresh token")
+    @Secured(SecurityRule.IS_ANONYMOUS)
+    public Mono<HttpResponse<LoginResponseDTO>> refresh(@Body @Valid RefreshTokenRequest refreshRequest) {
+        LOG.info("Token refresh request received");
+        return authenticationService.refresh(refreshRequest.getRefreshToken())
                 .map(HttpResponse::ok);
     }
 
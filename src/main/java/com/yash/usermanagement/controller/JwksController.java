@@ -0,0 +1,52 @@
+package com.yash.usermanagement.controller;
+
+import com.yash.usermanagement.security.JwtKeyRing;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.Duration;
+
+@Controller("/.well-known")
+@Tag(name = "Authentication")
+public class JwksController {
+
+    public static final String JWK_SET_MEDIA_TYPE = "application/jwk-set+json";
+
+    private final JwtKeyRing keyRing;
+    private final String cacheControl;
+
+    public JwksController(JwtKeyRing keyRing,
+            @Value("${users.security.jwt.jwks-max-age:1h}") Duration maxAge,
+            @Value("${users.security.jwt.rotation-interval:24h}") Duration rotationInterval) {
+        this.keyRing = keyRing;
+        // The next key is published one rotation ahead, so a cache younger than that never misses a kid
+        long maxAgeSeconds = Math.min(maxAge.toSeconds(), rotationInterval.toSeconds());
+        this.cacheControl = "public, max-age=" + maxAgeSeconds;
+    }
+
+    @Get(uri = "/jwks.json", produces = JWK_SET_MEDIA_TYPE)
+    @Operation(summary = "Public keys for verifying access tokens")
+    @Secured(SecurityRule.IS_ANONYMOUS)
+    public HttpResponse<String> keys(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        JwtKeyRing.PublishedKeys published = keyRing.published();
+        if (published.etag().equals(ifNoneMatch)) {
+            return HttpResponse.<String>status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.ETAG, published.etag())
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return HttpResponse.ok(published.json())
+                .contentType(JWK_SET_MEDIA_TYPE)
+                .header(HttpHeaders.ETAG, published.etag())
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+}
@@ -43,7 +43,12 @@ import com.yash.usermanagement.exception.ResourceNotFoundException;
 import com.yash.usermanagement.exception.ValidationException;
 import com.yash.usermanagement.exception.NotificationFailedException;
 import com.yash.usermanagement.dto.UserCreationResponse;
-import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import reactor.core.publisher.Mono;
 
 @Controller("/api/users")
@@ -52,28 +57,36 @@ public class UserController {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+            @Value("${users.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${users.pagination.max-page-size:200}") int maxPageSize) {
         this.userService = userService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @Post
     @Operation(summary = "Create a new user")
     @Secured("ADMIN")
     @Timed("User.createUser")
-    public Mono<HttpResponse<UserCreationResponse>> createUser(@Body @Valid CreateUserRequest request,
-            @Header(HttpHeaders.AUTHORIZATION) String authorization) {
+    public Mono<HttpResponse<UserCreationResponse>> createUser(@Body @Valid CreateUserRequest request) {
         LOG.info("Creating new user with role: {}", request.getRole());
         User user = convertToUser(request);
-        return userService.createUser(user)
-                .flatMap(savedUser -> userService.sendUserCreationNotification(savedUser, authorization)
-                        .thenReturn(
-                                HttpResponse.created(new UserCreationResponse(convertToUserResponse(savedUser), null)))
-                        .onErrorResume(NotificationFailedException.class, e -> {
-                            LOG.warn("User created, but notification failed: {}", e.getMessage());
-                            return Mono.just(HttpResponse.created(
-                                    new UserCreationResponse(convertToUserResponse(savedUser), e.getMessage())));
-                        }));
+        return userService.createUserAndNotify(user)
+                .map(savedUser -> HttpResponse.created(
+                        new UserCreationResponse(convertToUserResponse(savedUser), null)));
+    }
+
+    @Post(value = "/bulk", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_STREAM },
+            produces = { MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON })
+    @Operation(summary = "Create many users from a streamed JSON array, reporting a result per entry")
+    @Secured("ADMIN")
+    @Timed("User.bulkCreateUsers")
+    public Flux<BulkCreateUserResult> bulkCreateUsers(@Body Flux<CreateUserRequest> requests) {
+        return userService.bulkCreateUsers(requests);
     }
 
     @Get
@@ -85,16 +98,65 @@ public class UserController {
                 .map(users -> users.stream().map(this::convertToUserResponse).toList());
     }
 
-    @Get("/{id}")
-    @Operation(summary = "Get user by ID")
+    @Get("/page{?cursor,size,fields}")
+    @Operation(summary = "Get a page of users ordered by id, continuing from an opaque cursor")
+    @Secured("ADMIN")
+    @Counted("User.getUsersPage")
+    public Mono<UserPageResponse> getUsersPage(@Nullable @QueryValue String cursor,
+            @Nullable @QueryValue Integer size, @Nullable @QueryValue String fields) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        UUID afterId = decodeCursor(cursor);
+        Set<UserField> selected = UserField.parse(fields);
+        // Fetch one extra row to find out whether another page exists without a COUNT(*)
+        return userService.getUsersAfter(afterId, pageSize + 1, selected)
+                .collectList()
+                .map(users -> {
+                    boolean hasNext = users.size() > pageSize;
+                    List<User> page = hasNext ? users.subList(0, pageSize) : users;
+                    String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+                    return new UserPageResponse(
+                            page.stream().map(user -> convertToUserResponse(user, selected)).toList(), nextCursor);
+                });
+    }
+
+    @Get(value = "/export", produces = { MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON })
+    @Operation(summary = "Stream all users as newline-delimited JSON or a chunked JSON array")
+    @Secured("ADMIN")
+    @Counted("User.exportUsers")
+    public Flux<UserResponse> exportUsers() {
+        return userService.streamAllUsers()
+                .map(this::convertToUserResponse);
+    }
+
+    @Get("/{id}{?fields}")
+    @Operation(summary = "Get user by ID, optionally limited to a comma-separated list of fields")
     @Secured({ "ADMIN", "USER" })
-    public Mono<HttpResponse<UserResponse>> getUserById(@PathVariable UUID id) {
+    public Mono<HttpResponse<UserResponse>> getUserById(@PathVariable UUID id, @Nullable @QueryValue String fields) {
         LOG.info("Fetching user with id: {}", id);
-        return userService.getUserById(id)
-                .map(this::convertToUserResponse)
+        Set<UserField> selected = UserField.parse(fields);
+        return userService.getUserById(id, selected)
+                .map(user -> convertToUserResponse(user, selected))
                 .map(HttpResponse::ok);
     }
 
+    @Post("/batch-get")
+    @Operation(summary = "Get several users by ID in one call")
+    @Secured({ "ADMIN", "USER" })
+    @Counted("User.batchGetUsers")
+    public Mono<BatchGetUsersResponse> batchGetUsers(@Body @Valid BatchGetUsersRequest request) {
+        return userService.getUsersByIds(request.getIds())
+                .collectList()
+                .map(users -> {
+                    Set<UUID> found = users.stream().map(User::getId).collect(Collectors.toSet());
+                    List<UUID> missingIds = request.getIds().stream()
+                            .distinct()
+                            .filter(id -> !found.contains(id))
+                            .toList();
+                    return new BatchGetUsersResponse(users.stream().map(this::convertToUserResponse).toList(),
+                            missingIds);
+                });
+    }
+
     @Put("/{id}")
     @Operation(summary = "Update user")
     @Secured({ "ADMIN", "USER" })
@@ -108,10 +170,9 @@ public class UserController {
     @Delete("/{id}")
     @Operation(summary = "Delete user")
     @Secured({ "ADMIN", "USER" })
-    public Mono<MutableHttpResponse<Map<String, Object>>> deleteUser(@PathVariable UUID id,
-            @Header(HttpHeaders.AUTHORIZATION) String authorization) {
+    public Mono<MutableHttpResponse<Map<String, Object>>> deleteUser(@PathVariable UUID id) {
         LOG.info("Deleting user with id: {}", id);
-        return userService.deleteUser(id, authorization)
+        return userService.deleteUser(id)
                 .thenReturn(HttpResponse.ok(Collections.<String, Object>singletonMap("success", true)))
                 .onErrorResume(NotificationFailedException.class, e -> {
                     LOG.warn("User deleted, but notification failed: {}", e.getMessage());
@@ -122,13 +183,15 @@ public class UserController {
                 });
     }
 
-    @Get("/email/{email}")
-    @Operation(summary = "Get user by email")
+    @Get("/email/{email}{?fields}")
+    @Operation(summary = "Get user by email, optionally limited to a comma-separated list of fields")
     @Secured({ "ADMIN", "USER" })
-    public Mono<HttpResponse<UserResponse>> getUserByEmail(@PathVariable String email) {
+    public Mono<HttpResponse<UserResponse>> getUserByEmail(@PathVariable String email,
+            @Nullable @QueryValue String fields) {
         LOG.info("Finding user by email: {}", email);
-        return userService.findByEmail(email)
-                .map(this::convertToUserResponse)
+        Set<UserField> selected = UserField.parse(fields);
+        return userService.findByEmail(email, selected)
+                .map(user -> convertToUserResponse(user, selected))
                 .map(HttpResponse::ok);
     }
 
@@ -154,11 +217,23 @@ public class UserController {
                 .thenReturn(HttpResponse.ok());
     }
 
-    @Get("/password-change-requests/pending")
+    @Get("/password-change-requests/pending{?cursor,size}")
     @Secured("ADMIN")
-    @Operation(summary = "Get all pending password change requests")
-    public Flux<Map<String, Object>> getAllPendingPasswordChangeRequests() {
-        return userService.getAllPendingPasswordChangeRequests();
+    @Operation(summary = "Get a page of pending password change requests, oldest first, continuing from an opaque cursor")
+    public Mono<PendingPasswordChangeRequestPage> getAllPendingPasswordChangeRequests(
+            @Nullable @QueryValue String cursor, @Nullable @QueryValue Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        PendingCursor after = decodePendingCursor(cursor);
+        // Same extra-row trick as /users/page
+        return userService.getPendingPasswordChangeRequestsAfter(after == null ? null : after.createdAt(),
+                        after == null ? null : after.id(), pageSize + 1)
+                .collectList()
+                .map(requests -> {
+                    boolean hasNext = requests.size() > pageSize;
+                    List<PendingPasswordChangeRequestView> page = hasNext ? requests.subList(0, pageSize) : requests;
+                    String nextCursor = hasNext ? encodePendingCursor(page.get(page.size() - 1)) : null;
+                    return new PendingPasswordChangeRequestPage(page, nextCursor);
+                });
     }
 
     @Put("/password-change-requests/{requestId}/approve")
@@ -217,6 +292,47 @@ public class UserController {
                 .thenReturn(HttpResponse.noContent());
     }
 
+    // Helper methods for page cursors
+    private String encodeCursor(UUID lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UUID decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    private record PendingCursor(LocalDateTime createdAt, UUID id) {
+    }
+
+    // Requests are ordered by (created_at, id), so the cursor carries both
+    private String encodePendingCursor(PendingPasswordChangeRequestView last) {
+        String key = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PendingCursor decodePendingCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (key.length != 2) {
+                throw new ValidationException("Invalid page cursor");
+            }
+            return new PendingCursor(LocalDateTime.parse(key[0]), UUID.fromString(key[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
     // Helper methods for address conversion
     private Address convertToAddress(CreateAddressRequest request) {
         Address address = new Address();
@@ -293,4 +409,28 @@ public class UserController {
         response.setRole(user.getRole());
         return response;
     }
+
+    // Unselected fields stay null and are left out of the JSON
+    private UserResponse convertToUserResponse(User user, Set<UserField> fields) {
+        if (fields.containsAll(UserField.ALL)) {
+            return convertToUserResponse(user);
+        }
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        for (UserField field : fields) {
+            switch (field) {
+                case FIRST_NAME -> response.setFirstName(user.getFirstName());
+                case LAST_NAME -> response.setLastName(user.getLastName());
+                case EMAIL -> response.setEmail(user.getEmail());
+                case DATE_OF_BIRTH -> response.setDateOfBirth(user.getDateOfBirth());
+                case PHONE_NUMBER -> response.setPhoneNumber(user.getPhoneNumber());
+                case GENDER -> response.setGender(user.getGender());
+                case ROLE -> response.setRole(user.getRole());
+                case ADDRESS -> response.setAddress(user.getAddress());
+                default -> {
+                }
+            }
+        }
+        return response;
+    }
 }
\ No newline at end of file
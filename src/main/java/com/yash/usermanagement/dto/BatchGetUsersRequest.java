@@ -0,0 +1,24 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+@Serdeable
+public class BatchGetUsersRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 500, message = "At most 500 ids can be requested at once")
+    private List<@NotNull UUID> ids;
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,35 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.List;
+import java.util.UUID;
+
+@Serdeable
+public class BatchGetUsersResponse {
+    private List<UserResponse> users;
+    private List<UUID> missingIds;
+
+    public BatchGetUsersResponse() {
+    }
+
+    public BatchGetUsersResponse(List<UserResponse> users, List<UUID> missingIds) {
+        this.users = users;
+        this.missingIds = missingIds;
+    }
+
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserResponse> users) {
+        this.users = users;
+    }
+
+    public List<UUID> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<UUID> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,72 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.UUID;
+
+@Serdeable
+public class BulkCreateUserResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private long index;
+    private String email;
+    private UUID id;
+    private Status status;
+    private String message;
+
+    public BulkCreateUserResult() {
+    }
+
+    public BulkCreateUserResult(long index, String email, UUID id, Status status, String message) {
+        this.index = index;
+        this.email = email;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
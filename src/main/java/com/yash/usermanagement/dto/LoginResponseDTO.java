@@ -6,6 +6,7 @@ import java.util.UUID;
 @Serdeable
 public class LoginResponseDTO {
     private String accessToken;
+    private String refreshToken;
     private String tokenType;
     private UUID userId;
     private String email;
@@ -21,6 +22,14 @@ public class LoginResponseDTO {
         this.accessToken = accessToken;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getTokenType() {
         return tokenType;
     }
@@ -0,0 +1,24 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.core.annotation.Introspected;
+
+// A notification request to the notification service, built but not yet sent
+@Introspected
+public class PendingNotification {
+    private final String path;
+    private final Object body;
+
+    public PendingNotification(String path, Object body) {
+        this.path = path;
+        this.body = body;
+    }
+
+    // Getters
+    public String getPath() {
+        return path;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,44 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.List;
+
+@Serdeable
+public class PendingPasswordChangeRequestPage {
+    private List<PendingPasswordChangeRequestView> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public PendingPasswordChangeRequestPage() {
+    }
+
+    public PendingPasswordChangeRequestPage(List<PendingPasswordChangeRequestView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public List<PendingPasswordChangeRequestView> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PendingPasswordChangeRequestView> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
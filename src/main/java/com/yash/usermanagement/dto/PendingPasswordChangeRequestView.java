@@ -0,0 +1,94 @@
+package com.yash.usermanagement.dto;
+
+import com.yash.usermanagement.model.PasswordChangeStatus;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Introspected
+@Serdeable
+public class PendingPasswordChangeRequestView {
+    private UUID id;
+    private UUID userId;
+    private PasswordChangeStatus status;
+    private UUID adminId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String userFirstName;
+    private String userLastName;
+    private String userEmail;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public PasswordChangeStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PasswordChangeStatus status) {
+        this.status = status;
+    }
+
+    public UUID getAdminId() {
+        return adminId;
+    }
+
+    public void setAdminId(UUID adminId) {
+        this.adminId = adminId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getUserFirstName() {
+        return userFirstName;
+    }
+
+    public void setUserFirstName(String userFirstName) {
+        this.userFirstName = userFirstName;
+    }
+
+    public String getUserLastName() {
+        return userLastName;
+    }
+
+    public void setUserLastName(String userLastName) {
+        this.userLastName = userLastName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+}
@@ -0,0 +1,65 @@
+package com.yash.usermanagement.dto;
+
+import com.yash.usermanagement.model.UserRole;
+import io.micronaut.core.annotation.Introspected;
+import java.util.UUID;
+
+// Only what login needs; deliberately not @Serdeable so the password hash is never serialized
+@Introspected
+public class UserCredentials {
+    private UUID id;
+    private String email;
+    private String password;
+    private UserRole role;
+    private String firstName;
+    private String lastName;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+}
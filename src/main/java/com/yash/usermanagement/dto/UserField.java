@@ -0,0 +1,64 @@
+package com.yash.usermanagement.dto;
+
+import com.yash.usermanagement.exception.ValidationException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields that can be selected with the {@code fields} query parameter on user reads.
+ */
+public enum UserField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    DATE_OF_BIRTH("dateOfBirth"),
+    PHONE_NUMBER("phoneNumber"),
+    GENDER("gender"),
+    ROLE("role"),
+    ADDRESS("address");
+
+    // Columns covered by the UserSummary projection
+    public static final Set<UserField> SUMMARY = Collections.unmodifiableSet(
+            EnumSet.of(ID, FIRST_NAME, LAST_NAME, EMAIL, ROLE));
+    public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    private final String jsonName;
+
+    UserField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code id,firstName,email}. A missing or blank value
+     * selects every field, and the id is always included.
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<UserField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        return selected;
+    }
+
+    private static UserField fromJsonName(String name) {
+        for (UserField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new ValidationException("Unknown user field: " + name);
+    }
+}
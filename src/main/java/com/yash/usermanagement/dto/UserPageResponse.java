@@ -0,0 +1,44 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.List;
+
+@Serdeable
+public class UserPageResponse {
+    private List<UserResponse> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public UserPageResponse() {
+    }
+
+    public UserPageResponse(List<UserResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public List<UserResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
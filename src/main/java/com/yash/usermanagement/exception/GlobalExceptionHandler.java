@@ -2,6 +2,7 @@ package com.yash.usermanagement.exception;
 
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
@@ -19,6 +20,12 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
 
     @Override
     public HttpResponse<ErrorResponse> handle(HttpRequest request, Exception exception) {
+        if (exception instanceof TooManyRequestsException tooMany) {
+            // Shed load is expected during bursts; logging every rejection would make shedding expensive
+            return HttpResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooMany.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(exception.getMessage(), request.getPath()));
+        }
         LOG.error("Error occurred while processing request: {}", request.getPath(), exception);
 
         if (exception instanceof ResourceNotFoundException) {
@@ -27,6 +34,8 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
             return HttpResponse.badRequest(new ErrorResponse("Validation error: " + exception.getMessage(), request.getPath()));
         } else if (exception instanceof DuplicateResourceException) {
             return HttpResponse.status(HttpStatus.CONFLICT).body(new ErrorResponse(exception.getMessage(), request.getPath()));
+        } else if (exception instanceof ServiceUnavailableException) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(exception.getMessage(), request.getPath()));
         } else if (exception instanceof DatabaseException) {
             return HttpResponse.serverError(new ErrorResponse("Database error: " + exception.getMessage(), request.getPath()));
         } else if (exception instanceof DataAccessException) {
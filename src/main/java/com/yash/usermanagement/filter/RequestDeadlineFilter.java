@@ -0,0 +1,58 @@
+package com.yash.usermanagement.filter;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stamps every inbound request with the {@link System#nanoTime()} by which it should be answered, so
+ * outbound calls made on its behalf can be given only the time that is left. The budget is
+ * {@code users.http.deadline.default-budget}, or less if the caller sends a smaller one in
+ * {@value #TIMEOUT_HEADER} (milliseconds).
+ */
+@ServerFilter(Filter.MATCH_ALL_PATTERN)
+public class RequestDeadlineFilter implements Ordered {
+
+    public static final String DEADLINE_ATTRIBUTE = "users.request.deadline";
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final long defaultBudgetNanos;
+
+    public RequestDeadlineFilter(@Value("${users.http.deadline.default-budget:10s}") Duration defaultBudget) {
+        this.defaultBudgetNanos = defaultBudget.toNanos();
+    }
+
+    @RequestFilter
+    public void stampDeadline(HttpRequest<?> request) {
+        long budget = defaultBudgetNanos;
+        String header = request.getHeaders().get(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                budget = Math.min(budget, Duration.ofMillis(Math.max(0, Long.parseLong(header.trim()))).toNanos());
+            } catch (NumberFormatException e) {
+                // Ignore a malformed header and keep the default budget
+            }
+        }
+        request.setAttribute(DEADLINE_ATTRIBUTE, System.nanoTime() + budget);
+    }
+
+    /**
+     * @return time left for {@code request}, if it went through this filter
+     */
+    public static Optional<Duration> remaining(HttpRequest<?> request) {
+        return request.getAttribute(DEADLINE_ATTRIBUTE, Long.class)
+                .map(deadline -> Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.FIRST.order();
+    }
+}
@@ -0,0 +1,90 @@
+package com.yash.usermanagement.model;
+
+import io.micronaut.data.annotation.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@MappedEntity("notification_outbox")
+public class NotificationOutboxEntry {
+
+    @Id
+    @AutoPopulated
+    private UUID id;
+
+    @MappedProperty("path")
+    private String path;
+
+    // JSON request body, serialized when the notification was queued
+    @MappedProperty("payload")
+    private String payload;
+
+    @MappedProperty("attempts")
+    private int attempts;
+
+    // null once retries are exhausted; such rows are kept for inspection and never picked up again
+    @MappedProperty("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @MappedProperty("last_error")
+    private String lastError;
+
+    @MappedProperty("created_at")
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -19,6 +19,7 @@ public class PasswordChangeRequest {
     @MappedProperty("user_id")
     private UUID userId;
 
+    // PasswordHasher hash of the requested password, taken when the request is made
     @NotBlank
     @MappedProperty("new_password")
     private String newPassword;
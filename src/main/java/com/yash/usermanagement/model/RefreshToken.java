@@ -0,0 +1,110 @@
+package com.yash.usermanagement.model;
+
+import io.micronaut.data.annotation.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One refresh token of a login session. Only the SHA-256 of the token is stored. Every refresh rotates
+ * the token within its family (one family per login); presenting a token that was already rotated
+ * means it leaked, and the whole family is revoked.
+ */
+@MappedEntity("refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @AutoPopulated
+    private UUID id;
+
+    @NotNull
+    @MappedProperty("user_id")
+    private UUID userId;
+
+    @NotNull
+    @MappedProperty("family_id")
+    private UUID familyId;
+
+    @NotBlank
+    @MappedProperty("token_hash")
+    private String tokenHash;
+
+    @NotNull
+    @MappedProperty("expires_at")
+    private LocalDateTime expiresAt;
+
+    @MappedProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @MappedProperty("rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @MappedProperty("revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(UUID familyId) {
+        this.familyId = familyId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getRotatedAt() {
+        return rotatedAt;
+    }
+
+    public void setRotatedAt(LocalDateTime rotatedAt) {
+        this.rotatedAt = rotatedAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.yash.usermanagement.repository;
+
+import com.yash.usermanagement.model.NotificationOutboxEntry;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import jakarta.inject.Singleton;
+
+@R2dbcRepository(dialect = Dialect.POSTGRES)
+@Singleton
+public interface NotificationOutboxRepository extends ReactorCrudRepository<NotificationOutboxEntry, UUID> {
+
+    // SKIP LOCKED lets every instance's dispatcher claim a disjoint batch without waiting on the others
+    @Query("SELECT * FROM notification_outbox WHERE next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED")
+    Flux<NotificationOutboxEntry> findDueForUpdate(LocalDateTime now, int limit);
+
+    @Query("UPDATE notification_outbox SET attempts = attempts + 1, next_attempt_at = :leaseUntil WHERE id IN (:ids)")
+    Mono<Long> lease(List<UUID> ids, LocalDateTime leaseUntil);
+
+    @Query("UPDATE notification_outbox SET next_attempt_at = :nextAttemptAt, last_error = :lastError WHERE id = :id")
+    Mono<Long> reschedule(UUID id, @Nullable LocalDateTime nextAttemptAt, String lastError);
+}
@@ -0,0 +1,38 @@
+package com.yash.usermanagement.repository;
+
+import com.yash.usermanagement.dto.RefreshTokenView;
+import com.yash.usermanagement.model.RefreshToken;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import jakarta.inject.Singleton;
+
+@R2dbcRepository(dialect = Dialect.POSTGRES)
+@Singleton
+public interface RefreshTokenRepository extends ReactorCrudRepository<RefreshToken, UUID> {
+
+    @Query("SELECT rt.id, rt.user_id, rt.family_id, rt.expires_at, rt.rotated_at, rt.revoked_at, "
+            + "u.email, u.role, u.first_name, u.last_name "
+            + "FROM refresh_tokens rt JOIN users u ON u.id = rt.user_id "
+            + "WHERE rt.token_hash = :tokenHash")
+    Mono<RefreshTokenView> findWithUserByTokenHash(String tokenHash);
+
+    // Only one caller can rotate a given token; 0 rows means it was rotated or revoked concurrently
+    @Query("UPDATE refresh_tokens SET rotated_at = :rotatedAt "
+            + "WHERE id = :id AND rotated_at IS NULL AND revoked_at IS NULL")
+    Mono<Long> markRotated(UUID id, LocalDateTime rotatedAt);
+
+    @Query("UPDATE refresh_tokens SET revoked_at = :revokedAt WHERE family_id = :familyId AND revoked_at IS NULL")
+    Mono<Long> revokeFamily(UUID familyId, LocalDateTime revokedAt);
+
+    // A password change ends every session the user has, not just the family presenting a token
+    @Query("UPDATE refresh_tokens SET revoked_at = :revokedAt WHERE user_id = :userId AND revoked_at IS NULL")
+    Mono<Long> revokeAllForUser(UUID userId, LocalDateTime revokedAt);
+
+    @Query("DELETE FROM refresh_tokens WHERE expires_at < :before")
+    Mono<Long> deleteExpiredBefore(LocalDateTime before);
+}
@@ -2,16 +2,21 @@ package com.yash.usermanagement.repository;
 
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.Join;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
+import io.micronaut.core.annotation.Nullable;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.UUID;
 import jakarta.inject.Singleton;
-import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 
+import com.yash.usermanagement.dto.UserCredentials;
+import com.yash.usermanagement.dto.UserSummary;
 import com.yash.usermanagement.model.User;
 
 @R2dbcRepository(dialect = Dialect.POSTGRES)
@@ -22,11 +27,55 @@ public interface UserRepository extends ReactorCrudRepository<User, UUID> {
 
     Mono<Boolean> existsByEmail(String email);
 
+    Flux<String> findEmailByEmailIn(Collection<String> emails);
+
+    // Returns the number of inserted rows: 0 means the email is already taken. Needs the unique index in
+    // db/users_email_unique.sql
+    @Query("INSERT INTO users (id, first_name, last_name, email, password, gender, date_of_birth, phone_number, "
+            + "role, address_id) "
+            + "VALUES (:id, :firstName, :lastName, :email, :password, :gender, :dateOfBirth, :phoneNumber, "
+            + ":role, :addressId) "
+            + "ON CONFLICT (email) DO NOTHING")
+    Mono<Long> insertIfEmailAbsent(UUID id, @Nullable String firstName, @Nullable String lastName, String email,
+            @Nullable String password, @Nullable String gender, @Nullable LocalDate dateOfBirth,
+            @Nullable String phoneNumber, @Nullable String role, @Nullable UUID addressId);
+
     @Join(value = "address", type = Join.Type.LEFT_FETCH)
     Mono<User> findById(UUID id);
 
     @Join(value = "address", type = Join.Type.LEFT_FETCH)
     Flux<User> findAll();
 
-    Mono<Page<User>> findAll(Pageable pageable);
+    @Join(value = "address", type = Join.Type.LEFT_FETCH)
+    Flux<User> findByIdIn(Collection<UUID> ids);
+
+    // Keyset pagination: no COUNT(*) is issued, callers order by id and ask for one extra row
+    @Join(value = "address", type = Join.Type.LEFT_FETCH)
+    Flux<User> findAll(Pageable pageable);
+
+    @Join(value = "address", type = Join.Type.LEFT_FETCH)
+    Flux<User> findByIdGreaterThan(UUID id, Pageable pageable);
+
+    // Narrow reads for callers that select a subset of fields: no password column, no address join
+    @Query("SELECT id, first_name, last_name, email, role FROM users WHERE id = :id")
+    Mono<UserSummary> findSummaryById(UUID id);
+
+    @Query("SELECT id, first_name, last_name, email, role FROM users WHERE email = :email")
+    Mono<UserSummary> findSummaryByEmail(String email);
+
+    @Query("SELECT id, first_name, last_name, email, role FROM users WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<UserSummary> findSummariesAfter(UUID afterId, int limit);
+
+    @Query("SELECT id, email, password, role, first_name, last_name FROM users WHERE email = :email")
+    Mono<UserCredentials> findCredentialsByEmail(String email);
+
+    @Query("UPDATE users SET password = :newPassword WHERE id = :id AND password = :currentPassword")
+    Mono<Long> updatePasswordIfUnchanged(UUID id, String currentPassword, String newPassword);
+
+    // Full rows without the address join
+    Mono<User> queryById(UUID id);
+
+    Mono<User> queryByEmail(String email);
+
+    Flux<User> queryByIdGreaterThan(UUID id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.yash.usermanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import io.micronaut.security.token.validator.TokenValidator;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the {@link Authentication} of tokens that already passed JWT validation, so a client
+ * reusing its token skips signature verification and claim parsing. Runs before the JWT validator and
+ * delegates to it on a miss.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token, never the token itself, and expire at the token's
+ * {@code exp} or after {@code users.security.token-cache.expire-after}, whichever comes first. Revoked
+ * tokens are dropped on {@link TokenRevokedEvent}. A token the delegate rejects is not cached, and the
+ * JWT validator sees it a second time; only invalid tokens pay that.
+ * <p>
+ * Primary so that code injecting a single {@link TokenValidator}, such as logout, uses the cache too.
+ */
+@Primary
+@Singleton
+public class CachingTokenValidator implements TokenValidator<HttpRequest<?>> {
+    // Ahead of JwtTokenValidator, which keeps the default order of 0
+    public static final int ORDER = -100;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final TokenValidator<HttpRequest<?>> delegate;
+    private final Cache<ByteBuffer, Authentication> cache;
+
+    @Inject
+    public CachingTokenValidator(JwtTokenValidator<HttpRequest<?>> delegate, MeterRegistry meterRegistry,
+            @Value("${users.security.token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${users.security.token-cache.expire-after:5m}") Duration expireAfter) {
+        this(delegate, maximumSize, expireAfter);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-tokens");
+    }
+
+    CachingTokenValidator(TokenValidator<HttpRequest<?>> delegate, long maximumSize, Duration expireAfter) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires(expireAfter))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Publisher<Authentication> validateToken(String token, @Nullable HttpRequest<?> request) {
+        ByteBuffer key = key(token);
+        Authentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.from(delegate.validateToken(token, request))
+                .doOnNext(authentication -> cache.put(key, authentication));
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        // Logouts are rare next to lookups, so a scan beats maintaining a jti index
+        cache.asMap().values().removeIf(authentication -> event.getJti().equals(TokenClaims.jti(authentication)));
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, Authentication> {
+        private final long maxNanos;
+
+        private UntilTokenExpires(Duration expireAfter) {
+            this.maxNanos = expireAfter.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Authentication authentication, long currentTime) {
+            Long expiresAt = TokenClaims.expiresAt(authentication);
+            if (expiresAt == null) {
+                return maxNanos;
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiresAt * 1000 - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Authentication authentication, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, authentication, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Authentication authentication, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.yash.usermanagement.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.env.Environment;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Asymmetric keys for signing access tokens, published as a JWKS so other services verify tokens
+ * without the secret and without calling back.
+ * <p>
+ * The ring holds the active signing key, the key that will be active after the next rotation and the
+ * keys retired while tokens they signed can still be valid. The next key is published one rotation
+ * ahead of use, so a verifier whose cached JWKS is younger than the rotation interval already knows
+ * any key a token can name in its {@code kid}.
+ * <p>
+ * Outside the dev and test environments a shared JWK set (private keys included) must be configured in
+ * {@code users.security.jwt.keys}, and startup fails without one: keys generated here live in this process
+ * only, so tokens would fail on every other instance and after every restart. The set's first key signs,
+ * the rest only verify, and rotation is done by prepending a new key and dropping the old one once its
+ * tokens expired.
+ */
+@Context
+@Singleton
+public class JwtKeyRing {
+    private static final Logger LOG = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final Set<String> LOCAL_KEY_ENVIRONMENTS = Set.of(Environment.DEVELOPMENT, Environment.TEST);
+
+    private final JWSAlgorithm algorithm;
+    private final long maxTtlSeconds;
+    private final LongSupplier clock;
+    private final boolean configured;
+    private volatile Keys keys;
+
+    @Inject
+    public JwtKeyRing(Environment environment,
+            @Value("${users.security.jwt.algorithm:ES256}") String algorithm,
+            @Value("${users.security.jwt.keys:}") String configuredKeys,
+            @Value("${micronaut.security.token.generator.access-token.expiration:3600}") long maxTtlSeconds) {
+        this(algorithm, requireSharedKeys(environment, configuredKeys), maxTtlSeconds);
+    }
+
+    public JwtKeyRing(String algorithm, String configuredKeys, long maxTtlSeconds) {
+        this(JWSAlgorithm.parse(algorithm), parse(configuredKeys), maxTtlSeconds,
+                () -> System.currentTimeMillis() / 1000);
+    }
+
+    JwtKeyRing(JWSAlgorithm algorithm, @Nullable JWKSet configuredKeys, long maxTtlSeconds, LongSupplier clock) {
+        // A configured key that names its own algorithm wins over users.security.jwt.algorithm
+        this.algorithm = configuredKeys != null && configuredKeys.getKeys().get(0).getAlgorithm() != null
+                ? JWSAlgorithm.parse(configuredKeys.getKeys().get(0).getAlgorithm().getName()) : algorithm;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.clock = clock;
+        this.configured = configuredKeys != null;
+        if (configuredKeys != null) {
+            List<JWK> all = configuredKeys.getKeys();
+            this.keys = new Keys(all.get(0), null, all.subList(1, all.size()).stream()
+                    .map(key -> new Retired(key, Long.MAX_VALUE))
+                    .toList());
+        } else {
+            this.keys = new Keys(generate(algorithm), generate(algorithm), List.of());
+        }
+    }
+
+    public JWSAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public String activeKeyId() {
+        return keys.active.getKeyID();
+    }
+
+    public JWSSigner signer() {
+        return keys.signer;
+    }
+
+    /**
+     * @return the verifier for {@code kid}, or {@code null} if the key is unknown or was dropped
+     */
+    @Nullable
+    public JWSVerifier verifier(@Nullable String kid) {
+        return kid == null ? null : keys.verifiers.get(kid);
+    }
+
+    /**
+     * Public half of every key a current token may name, plus the next signing key.
+     */
+    public PublishedKeys published() {
+        return keys.published;
+    }
+
+    @Scheduled(fixedDelay = "${users.security.jwt.rotation-interval:24h}",
+            initialDelay = "${users.security.jwt.rotation-interval:24h}")
+    void scheduledRotate() {
+        if (!configured) {
+            rotate();
+        }
+    }
+
+    synchronized void rotate() {
+        long now = clock.getAsLong();
+        Keys current = keys;
+        List<Retired> retired = new ArrayList<>();
+        for (Retired key : current.retired) {
+            if (key.until > now) {
+                retired.add(key);
+            }
+        }
+        // Tokens signed a moment ago stay valid for one token lifetime
+        retired.add(new Retired(current.active, now + maxTtlSeconds));
+        keys = new Keys(current.next, generate(algorithm), retired);
+        LOG.info("Rotated JWT signing key to {}", current.next.getKeyID());
+    }
+
+    static String requireSharedKeys(Environment environment, String configuredKeys) {
+        boolean configured = configuredKeys != null && !configuredKeys.isBlank();
+        if (!configured && environment.getActiveNames().stream().noneMatch(LOCAL_KEY_ENVIRONMENTS::contains)) {
+            throw new IllegalStateException("users.security.jwt.keys (JWT_SIGNING_KEYS) must hold the signing keys "
+                    + "shared by all instances; generated keys are only allowed in the dev and test environments");
+        }
+        return configuredKeys;
+    }
+
+    @Nullable
+    private static JWKSet parse(String configuredKeys) {
+        if (configuredKeys == null || configuredKeys.isBlank()) {
+            return null;
+        }
+        try {
+            JWKSet set = JWKSet.parse(configuredKeys);
+            if (set.getKeys().isEmpty() || !set.getKeys().get(0).isPrivate()) {
+                throw new IllegalStateException("users.security.jwt.keys must start with a private signing key");
+            }
+            if (set.getKeys().stream().anyMatch(key -> key.getKeyID() == null)) {
+                throw new IllegalStateException("Every key in users.security.jwt.keys needs a kid");
+            }
+            return set;
+        } catch (ParseException e) {
+            throw new IllegalStateException("users.security.jwt.keys is not a valid JWK set", e);
+        }
+    }
+
+    static JWK generate(JWSAlgorithm algorithm) {
+        String kid = UUID.randomUUID().toString();
+        try {
+            if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+                return new ECKeyGenerator(Curve.forJWSAlgorithm(algorithm).iterator().next())
+                        .keyID(kid).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).generate();
+            }
+            if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+                return new RSAKeyGenerator(2048)
+                        .keyID(kid).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).generate();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate a " + algorithm + " key", e);
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+    }
+
+    /**
+     * JWKS document with its ETag, built once per rotation rather than per request.
+     */
+    public record PublishedKeys(String json, String etag) {
+    }
+
+    private record Retired(JWK key, long until) {
+    }
+
+    private static final class Keys {
+        private final JWK active;
+        @Nullable
+        private final JWK next;
+        private final List<Retired> retired;
+        private final JWSSigner signer;
+        private final Map<String, JWSVerifier> verifiers = new HashMap<>();
+        private final PublishedKeys published;
+
+        private Keys(JWK active, @Nullable JWK next, List<Retired> retired) {
+            this.active = active;
+            this.next = next;
+            this.retired = retired;
+            List<JWK> publicKeys = new ArrayList<>();
+            try {
+                this.signer = active instanceof ECKey ec ? new ECDSASigner(ec) : new RSASSASigner(active.toRSAKey());
+                for (JWK key : keysToPublish()) {
+                    JWK publicKey = key.toPublicJWK();
+                    publicKeys.add(publicKey);
+                    verifiers.put(key.getKeyID(), publicKey instanceof ECKey ec
+                            ? new ECDSAVerifier(ec) : new RSASSAVerifier((RSAKey) publicKey));
+                }
+            } catch (JOSEException e) {
+                throw new IllegalStateException("Unusable JWT signing key", e);
+            }
+            String json = new JWKSet(publicKeys).toString();
+            this.published = new PublishedKeys(json, etag(json));
+        }
+
+        private List<JWK> keysToPublish() {
+            List<JWK> all = new ArrayList<>();
+            all.add(active);
+            if (next != null) {
+                all.add(next);
+            }
+            retired.forEach(key -> all.add(key.key));
+            return all;
+        }
+
+        private static String etag(String json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+                return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
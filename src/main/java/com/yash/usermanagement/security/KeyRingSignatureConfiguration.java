@@ -0,0 +1,53 @@
+package com.yash.usermanagement.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.security.token.jwt.signature.SignatureGeneratorConfiguration;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Signs access tokens with the active key of the {@link JwtKeyRing}, naming it in the {@code kid}
+ * header, and verifies tokens by the key their {@code kid} names. Named {@code generator} so the JWT
+ * token generator signs with it; the JWT validator picks it up with the other signature configurations.
+ */
+@Singleton
+@Named("generator")
+public class KeyRingSignatureConfiguration implements SignatureGeneratorConfiguration {
+
+    private final JwtKeyRing keyRing;
+
+    public KeyRingSignatureConfiguration(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        JWSHeader header = new JWSHeader.Builder(keyRing.algorithm())
+                .keyID(keyRing.activeKeyId())
+                .build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        jwt.sign(keyRing.signer());
+        return jwt;
+    }
+
+    @Override
+    public String supportedAlgorithmsMessage() {
+        return "Only the " + keyRing.algorithm().getName() + " algorithm is supported";
+    }
+
+    @Override
+    public boolean supports(JWSAlgorithm algorithm) {
+        return keyRing.algorithm().equals(algorithm);
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws JOSEException {
+        JWSVerifier verifier = keyRing.verifier(jwt.getHeader().getKeyID());
+        return verifier != null && jwt.verify(verifier);
+    }
+}
@@ -0,0 +1,126 @@
+package com.yash.usermanagement.security;
+
+import com.yash.usermanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for the login endpoint. A login attempt must get a token from its client address's
+ * bucket, from the bucket for its email at that address, from the looser bucket for its email across all
+ * addresses, and one of a fixed number of in-flight slots; if any of those is unavailable it fails right
+ * away with {@link TooManyRequestsException}, before touching the database or the password hasher.
+ * <p>
+ * The email tokens are refunded when the login succeeds, so only failed attempts use up an account's
+ * budget. Someone guessing from one address exhausts the tight per-address bucket and locks out only
+ * themselves; the owner is locked out only by guessing from many addresses at once. Buckets are striped,
+ * so memory does not grow with the number of emails or addresses an attacker cycles through.
+ */
+@Singleton
+public class LoginRateLimiter {
+
+    private final StripedTokenBuckets ipBuckets;
+    private final StripedTokenBuckets emailAtAddressBuckets;
+    private final StripedTokenBuckets emailBuckets;
+    private final Semaphore inFlight;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmailAtAddress;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByConcurrency;
+    private final Counter admitted;
+
+    @Inject
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+            @Value("${users.security.login-limit.stripes:16384}") int stripes,
+            @Value("${users.security.login-limit.ip.capacity:30}") int ipCapacity,
+            @Value("${users.security.login-limit.ip.refill-per-second:0.5}") double ipRefillPerSecond,
+            @Value("${users.security.login-limit.email-at-address.capacity:5}") int emailAtAddressCapacity,
+            @Value("${users.security.login-limit.email-at-address.refill-per-second:0.1}")
+            double emailAtAddressRefillPerSecond,
+            @Value("${users.security.login-limit.email.capacity:50}") int emailCapacity,
+            @Value("${users.security.login-limit.email.refill-per-second:0.2}") double emailRefillPerSecond,
+            @Value("${users.security.login-limit.max-concurrent:64}") int maxConcurrent) {
+        this(meterRegistry, new StripedTokenBuckets(stripes, ipCapacity, ipRefillPerSecond, System::nanoTime),
+                new StripedTokenBuckets(stripes, emailAtAddressCapacity, emailAtAddressRefillPerSecond,
+                        System::nanoTime),
+                new StripedTokenBuckets(stripes, emailCapacity, emailRefillPerSecond, System::nanoTime),
+                maxConcurrent);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, StripedTokenBuckets ipBuckets,
+            StripedTokenBuckets emailAtAddressBuckets, StripedTokenBuckets emailBuckets, int maxConcurrent) {
+        this.ipBuckets = ipBuckets;
+        this.emailAtAddressBuckets = emailAtAddressBuckets;
+        this.emailBuckets = emailBuckets;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.rejectedByIp = rejected(meterRegistry, "ip");
+        this.rejectedByEmailAtAddress = rejected(meterRegistry, "email_at_address");
+        this.rejectedByEmail = rejected(meterRegistry, "email");
+        this.rejectedByConcurrency = rejected(meterRegistry, "concurrency");
+        this.admitted = Counter.builder("auth.login.admitted")
+                .description("Login attempts let through to credential checks")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.in.flight", inFlight, s -> maxConcurrent - s.availablePermits())
+                .description("Login attempts currently being checked")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Login attempts shed before any database or hashing work")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code login} if the attempt is admitted, holding an in-flight slot until it terminates. A login
+     * that emits a value counts as successful and does not use up the email's budget.
+     */
+    public <T> Mono<T> admit(String email, @Nullable String clientAddress, Supplier<Mono<T>> login) {
+        return Mono.defer(() -> {
+            if (clientAddress != null && !ipBuckets.tryAcquire(clientAddress)) {
+                rejectedByIp.increment();
+                return Mono.error(new TooManyRequestsException("Too many login attempts from this address",
+                        ipBuckets.secondsPerToken()));
+            }
+            String account = email == null ? null : email.toLowerCase(Locale.ROOT);
+            String accountAtAddress = account + '|' + (clientAddress == null ? "" : clientAddress);
+            if (account != null && !emailAtAddressBuckets.tryAcquire(accountAtAddress)) {
+                rejectedByEmailAtAddress.increment();
+                return Mono.error(new TooManyRequestsException("Too many login attempts for this account",
+                        emailAtAddressBuckets.secondsPerToken()));
+            }
+            if (account != null && !emailBuckets.tryAcquire(account)) {
+                emailAtAddressBuckets.refund(accountAtAddress);
+                rejectedByEmail.increment();
+                return Mono.error(new TooManyRequestsException("Too many login attempts for this account",
+                        emailBuckets.secondsPerToken()));
+            }
+            if (!inFlight.tryAcquire()) {
+                refund(account, accountAtAddress);
+                rejectedByConcurrency.increment();
+                return Mono.error(new TooManyRequestsException("Login is busy, try again shortly", 1));
+            }
+            admitted.increment();
+            return Mono.defer(login)
+                    .doOnNext(result -> refund(account, accountAtAddress))
+                    .doFinally(signal -> inFlight.release());
+        });
+    }
+
+    private void refund(@Nullable String account, String accountAtAddress) {
+        if (account != null) {
+            emailAtAddressBuckets.refund(accountAtAddress);
+            emailBuckets.refund(account);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.yash.usermanagement.security;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import at.favre.lib.crypto.bcrypt.LongPasswordStrategies;
+import at.favre.lib.crypto.bcrypt.LongPasswordStrategy;
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool so the deliberately slow work never
+ * runs on the Netty event loop. When the queue is full callers get a {@link ServiceUnavailableException}
+ * instead of piling up behind it.
+ * <p>
+ * Passwords stored before hashing was introduced are still accepted (compared in constant time) and
+ * reported by {@link #needsRehash(String)}, as are hashes made with a lower cost than configured.
+ * {@link #verifyMissing(String)} spends the same work for accounts that do not exist, so a login's
+ * timing does not reveal whether the email is registered.
+ */
+@Singleton
+public class PasswordHasher {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final BCrypt.Version VERSION = BCrypt.Version.VERSION_2A;
+    // bcrypt ignores everything past 72 bytes; longer passwords are pre-hashed instead of truncated
+    private static final LongPasswordStrategy LONG_PASSWORDS = LongPasswordStrategies.hashSha512(VERSION);
+
+    private final int cost;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    // A hash of a random secret at the configured cost; nothing ever verifies against it successfully
+    private final String dummyHash;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+            @Value("${users.security.password.cost:12}") int cost,
+            @Value("${users.security.password.threads:0}") int threads,
+            @Value("${users.security.password.queue-capacity:256}") int queueCapacity) {
+        this.cost = cost;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hasher");
+
+        Gauge.builder("password.hasher.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash and verify tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hasher.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hash and verify tasks currently running")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hasher.duration")
+                .tag("operation", "hash")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hasher.duration")
+                .tag("operation", "verify")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.dummyHash = BCrypt.with(VERSION, LONG_PASSWORDS)
+                .hashToString(cost, Base64.getEncoder().encodeToString(secret).toCharArray());
+        LOG.info("Password hashing uses bcrypt cost {} on {} threads (queue capacity {})", cost, this.threads,
+                queueCapacity);
+    }
+
+    public Mono<String> hash(String rawPassword) {
+        return offload(() -> hashTimer.record(
+                () -> BCrypt.with(VERSION, LONG_PASSWORDS).hashToString(cost, rawPassword.toCharArray())));
+    }
+
+    public Mono<Boolean> verify(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return Mono.just(false);
+        }
+        if (!isBcrypt(storedPassword)) {
+            // Legacy plaintext row; cheap enough to compare inline
+            return Mono.just(MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8)));
+        }
+        return offload(() -> verifyTimer.record(() -> BCrypt.verifyer(VERSION, LONG_PASSWORDS)
+                .verify(rawPassword.toCharArray(), storedPassword).verified));
+    }
+
+    /**
+     * Runs a full verification against a hash nobody holds and always answers {@code false}; for logins
+     * whose account was not found.
+     */
+    public Mono<Boolean> verifyMissing(String rawPassword) {
+        return verify(rawPassword == null ? "" : rawPassword, dummyHash).map(ignored -> false);
+    }
+
+    /**
+     * Whether a stored value is a hash this class produced, as opposed to a legacy plaintext password.
+     */
+    public boolean isHash(String storedPassword) {
+        return storedPassword != null && isBcrypt(storedPassword);
+    }
+
+    public boolean needsRehash(String storedPassword) {
+        if (storedPassword == null || !isBcrypt(storedPassword)) {
+            return true;
+        }
+        return Integer.parseInt(storedPassword.substring(4, 6)) < cost;
+    }
+
+    /**
+     * Number of hashing threads; callers hashing many passwords at once should not have more than this
+     * in flight, or they will fill the queue for everyone else.
+     */
+    public int parallelism() {
+        return threads;
+    }
+
+    private static boolean isBcrypt(String storedPassword) {
+        return storedPassword.length() == 60 && storedPassword.startsWith("$2")
+                && storedPassword.charAt(3) == '$';
+    }
+
+    private <T> Mono<T> offload(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new ServiceUnavailableException("Password hashing is overloaded, try again shortly", e));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.dispose();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,322 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Shares token revocations between instances over Postgres LISTEN/NOTIFY, so a logout on one node is
+ * honoured by all of them. Request checks stay in the local {@link TokenRevocationStore}; this class
+ * only moves revocations between the stores.
+ * <p>
+ * Local revocations are queued and flushed in batches: one transaction upserts them into
+ * {@code revoked_tokens} and notifies the channel, so listeners are only told about rows that are
+ * committed. Each instance keeps one dedicated connection listening, opened past the pool so it neither
+ * holds a pool slot nor goes back to the pool still subscribed; whenever it (re)connects it reads
+ * every unexpired row to catch up on what it missed while it was not listening.
+ * <p>
+ * The queue is bounded: while the database is unreachable, expired entries are dropped and past
+ * {@code max-pending} the oldest entries give way. The local store has them either way.
+ */
+@Singleton
+@Requires(property = "users.security.revocation.broadcast.enabled", notEquals = "false")
+public class RevocationBroadcaster {
+    private static final Logger LOG = LoggerFactory.getLogger(RevocationBroadcaster.class);
+
+    static final String CHANNEL = "token_revocations";
+    // NOTIFY payloads must stay under 8000 bytes; an entry is at most ~60
+    static final int ENTRIES_PER_NOTIFICATION = 100;
+
+    private final ConnectionFactory connectionFactory;
+    private final ConnectionFactory listenerConnectionFactory;
+    private final TokenRevocationStore revocationStore;
+    private final LongSupplier clock;
+    private final int batchSize;
+    private final int maxPending;
+    private final Duration reconnectBackoff;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<TokenRevokedEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter published;
+    private final Counter received;
+    private final Counter dropped;
+    private volatile Disposable listener;
+
+    @Inject
+    public RevocationBroadcaster(ConnectionFactory connectionFactory, TokenRevocationStore revocationStore,
+            MeterRegistry meterRegistry,
+            @Value("${users.security.revocation.broadcast.batch-size:500}") int batchSize,
+            @Value("${users.security.revocation.broadcast.max-pending:100000}") int maxPending,
+            @Value("${users.security.revocation.broadcast.reconnect-backoff:1s}") Duration reconnectBackoff) {
+        this(connectionFactory, revocationStore, meterRegistry, batchSize, maxPending, reconnectBackoff,
+                () -> System.currentTimeMillis() / 1000);
+    }
+
+    RevocationBroadcaster(ConnectionFactory connectionFactory, TokenRevocationStore revocationStore,
+            MeterRegistry meterRegistry, int batchSize, int maxPending, Duration reconnectBackoff,
+            LongSupplier clock) {
+        this.connectionFactory = connectionFactory;
+        this.listenerConnectionFactory = unwrap(connectionFactory);
+        this.revocationStore = revocationStore;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.reconnectBackoff = reconnectBackoff;
+        this.clock = clock;
+        this.published = Counter.builder("auth.revocation.broadcast.published")
+                .description("Local revocations sent to the other instances")
+                .register(meterRegistry);
+        this.received = Counter.builder("auth.revocation.broadcast.received")
+                .description("Revocations from other instances that were new here")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("auth.revocation.broadcast.dropped")
+                .description("Local revocations never broadcast because they expired or the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.broadcast.pending", pendingCount, AtomicInteger::get)
+                .description("Local revocations waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        listener = Flux.usingWhen(listenerConnectionFactory.create(), this::listen, this::unlistenAndClose)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectBackoff)
+                        .maxBackoff(Duration.ofMinutes(1))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> LOG.warn("Revocation listener disconnected, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (event.isLocal()) {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(TokenRevokedEvent event) {
+        if (event.getExpiresAt() <= clock.getAsLong()) {
+            dropped.increment();
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPending && poll() != null) {
+            dropped.increment();
+        }
+        pending.add(event);
+    }
+
+    private TokenRevokedEvent poll() {
+        TokenRevokedEvent event = pending.poll();
+        if (event != null) {
+            pendingCount.decrementAndGet();
+        }
+        return event;
+    }
+
+    @Scheduled(fixedDelay = "${users.security.revocation.broadcast.flush-interval:100ms}")
+    void flush() {
+        List<TokenRevokedEvent> batch = new ArrayList<>();
+        TokenRevokedEvent event;
+        long now = clock.getAsLong();
+        while (batch.size() < batchSize && (event = poll()) != null) {
+            if (event.getExpiresAt() > now) {
+                batch.add(event);
+            } else {
+                dropped.increment();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            publish(batch).block(Duration.ofSeconds(10));
+            published.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Keep them for the next flush, within the queue's bound; the local store already has them
+            LOG.warn("Could not broadcast {} revocations: {}", batch.size(), e.getMessage());
+            batch.forEach(this::enqueue);
+        }
+    }
+
+    @Scheduled(fixedDelay = "${users.security.revocation.broadcast.cleanup-interval:10m}")
+    void deleteExpired() {
+        Mono.usingWhen(connectionFactory.create(),
+                        connection -> Flux.from(connection
+                                        .createStatement("DELETE FROM revoked_tokens WHERE expires_at <= $1")
+                                        .bind("$1", clock.getAsLong())
+                                        .execute())
+                                .flatMap(Result::getRowsUpdated)
+                                .reduce(0L, Long::sum),
+                        Connection::close)
+                .subscribe(deleted -> LOG.debug("Deleted {} expired revocations", deleted),
+                        e -> LOG.warn("Could not delete expired revocations: {}", e.getMessage()));
+    }
+
+    @PreDestroy
+    void close() {
+        Disposable current = listener;
+        if (current != null) {
+            current.dispose();
+        }
+        flush();
+    }
+
+    private Mono<Void> publish(List<TokenRevokedEvent> batch) {
+        return Mono.usingWhen(connectionFactory.create(),
+                connection -> Mono.from(connection.beginTransaction())
+                        .thenMany(Flux.from(upsert(connection, batch).execute()).flatMap(Result::getRowsUpdated))
+                        .thenMany(Flux.fromIterable(encode(nodeId, batch))
+                                .concatMap(payload -> Flux.from(connection.createStatement("SELECT pg_notify($1, $2)")
+                                                .bind("$1", CHANNEL)
+                                                .bind("$2", payload)
+                                                .execute())
+                                        .flatMap(result -> result.map((row, metadata) -> payload))))
+                        .then(Mono.from(connection.commitTransaction())),
+                Connection::close,
+                (connection, error) -> Mono.from(connection.rollbackTransaction())
+                        .onErrorResume(e -> Mono.empty())
+                        .then(Mono.from(connection.close())),
+                Connection::close);
+    }
+
+    private static Statement upsert(Connection connection, List<TokenRevokedEvent> batch) {
+        Statement statement = connection.createStatement("INSERT INTO revoked_tokens (jti, expires_at) "
+                + "VALUES ($1, $2) ON CONFLICT (jti) "
+                + "DO UPDATE SET expires_at = GREATEST(revoked_tokens.expires_at, EXCLUDED.expires_at)");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            statement.bind("$1", batch.get(i).getJti()).bind("$2", batch.get(i).getExpiresAt());
+        }
+        return statement;
+    }
+
+    // Closing a dedicated connection ends its session, but clear the subscription first in case the
+    // factory hands out pooled connections after all
+    private Mono<Void> unlistenAndClose(Connection connection) {
+        return Flux.from(connection.createStatement("UNLISTEN *").execute())
+                .flatMap(Result::getRowsUpdated)
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.from(connection.close()));
+    }
+
+    private Flux<Boolean> listen(Connection connection) {
+        PostgresqlConnection postgres = unwrap(connection);
+        return postgres.createStatement("LISTEN " + CHANNEL).execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(Flux.merge(
+                        // Subscribed before the catch-up read so nothing committed in between is missed
+                        postgres.getNotifications()
+                                .flatMapIterable(notification -> onNotification(notification.getParameter())),
+                        catchUp(postgres)))
+                .concatWith(Mono.error(new IllegalStateException("LISTEN connection closed")));
+    }
+
+    private Flux<Boolean> catchUp(PostgresqlConnection connection) {
+        return connection.createStatement("SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > $1")
+                .bind("$1", clock.getAsLong())
+                .execute()
+                .flatMap(result -> result.map((row, metadata) ->
+                        apply(row.get("jti", String.class), row.get("expires_at", Long.class))))
+                .doOnComplete(() -> LOG.info("Revocation listener caught up, {} revoked tokens known",
+                        revocationStore.size()));
+    }
+
+    List<Boolean> onNotification(String payload) {
+        if (payload == null) {
+            return List.of();
+        }
+        String[] lines = payload.split("\n");
+        if (nodeId.equals(lines[0])) {
+            return List.of();
+        }
+        List<Boolean> applied = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(' ');
+            if (separator > 0) {
+                applied.add(apply(lines[i].substring(0, separator), Long.parseLong(lines[i].substring(separator + 1))));
+            }
+        }
+        return applied;
+    }
+
+    private boolean apply(String jti, long expiresAt) {
+        boolean applied = revocationStore.applyRemote(jti, expiresAt);
+        if (applied) {
+            received.increment();
+        }
+        return applied;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * One payload per {@link #ENTRIES_PER_NOTIFICATION} entries: the sender's node id, then one
+     * {@code "<jti> <exp>"} line per revocation.
+     */
+    static List<String> encode(String nodeId, List<TokenRevokedEvent> batch) {
+        List<String> payloads = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += ENTRIES_PER_NOTIFICATION) {
+            StringBuilder payload = new StringBuilder(nodeId);
+            for (TokenRevokedEvent event : batch.subList(from, Math.min(batch.size(), from + ENTRIES_PER_NOTIFICATION))) {
+                payload.append('\n').append(event.getJti()).append(' ').append(event.getExpiresAt());
+            }
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    // The pool wraps the driver's factory; connections from the latter bypass it
+    private static ConnectionFactory unwrap(ConnectionFactory factory) {
+        ConnectionFactory current = factory;
+        while (current instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            current = inner;
+        }
+        return current;
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        // Pooled connections wrap the driver's
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgres) {
+            return postgres;
+        }
+        throw new IllegalStateException("Revocation broadcast needs a Postgres R2DBC connection");
+    }
+}
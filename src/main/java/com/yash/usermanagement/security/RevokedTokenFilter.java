@@ -0,0 +1,46 @@
+package com.yash.usermanagement.security;
+
+import com.yash.usermanagement.exception.ErrorResponse;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.security.authentication.Authentication;
+
+/**
+ * Rejects requests whose bearer token was logged out. Runs right after the security filter has
+ * validated the token, so only the {@code jti} claim of an already authenticated request is looked up.
+ */
+@ServerFilter(Filter.MATCH_ALL_PATTERN)
+public class RevokedTokenFilter implements Ordered {
+
+    private final TokenRevocationStore revocationStore;
+
+    public RevokedTokenFilter(TokenRevocationStore revocationStore) {
+        this.revocationStore = revocationStore;
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> rejectRevokedTokens(HttpRequest<?> request) {
+        Authentication authentication = request.getUserPrincipal(Authentication.class).orElse(null);
+        if (authentication == null) {
+            return null;
+        }
+        String jti = TokenClaims.jti(authentication);
+        if (jti != null && revocationStore.isRevoked(jti)) {
+            return HttpResponse.unauthorized()
+                    .body(new ErrorResponse("Token has been revoked", request.getPath()));
+        }
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.SECURITY.after();
+    }
+}
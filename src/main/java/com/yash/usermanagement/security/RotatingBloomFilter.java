@@ -0,0 +1,126 @@
+package com.yash.usermanagement.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter made of two generations. Additions go to the current one, lookups check both, and
+ * {@link #rotate()} drops the older generation. Rotating once per window keeps every element for at
+ * least one full window, so a filter rotated every token lifetime never forgets a revocation that is
+ * still in force, while its bits are cleared without ever having to delete.
+ * <p>
+ * {@link #mightContain(String)} hashes the string in place and only reads the bit arrays, so it
+ * allocates nothing.
+ */
+public class RotatingBloomFilter {
+
+    private final int bits;
+    private final int hashes;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param expectedInsertions elements added per window at which the filter meets {@code falsePositiveRate}
+     * @param falsePositiveRate  target false-positive probability at that load
+     */
+    public RotatingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        this.current = new Generation(bits);
+        this.previous = new Generation(bits);
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        // Odd so the probes never collapse onto one bit
+        int h2 = (int) (hash >>> 32) | 1;
+        Generation generation = current;
+        for (int i = 0; i < hashes; i++) {
+            generation.set(index(h1 + i * h2));
+        }
+        generation.insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    public void rotate() {
+        previous = current;
+        current = new Generation(bits);
+    }
+
+    /**
+     * Probability that a lookup of an absent element answers true, estimated from the number of
+     * elements in each generation.
+     */
+    public double expectedFalsePositiveRate() {
+        double missCurrent = 1 - generationRate(current.insertions.get());
+        double missPrevious = 1 - generationRate(previous.insertions.get());
+        return 1 - missCurrent * missPrevious;
+    }
+
+    int bitCount() {
+        return bits;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    private double generationRate(int insertions) {
+        return Math.pow(1 - Math.exp(-(double) hashes * insertions / bits), hashes);
+    }
+
+    private boolean contains(Generation generation, int h1, int h2) {
+        for (int i = 0; i < hashes; i++) {
+            if (!generation.get(index(h1 + i * h2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    // 64-bit FNV-1a over the chars followed by the SplitMix64 finalizer; both halves are used as probes
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        private void set(int bit) {
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long value;
+            do {
+                value = words.get(word);
+            } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.yash.usermanagement.security;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A fixed set of token buckets that keys are hashed onto. Memory stays constant however many distinct
+ * keys show up, which matters when the keys are attacker-chosen emails and addresses; the price is
+ * that keys sharing a stripe share a budget, which is negligible with enough stripes.
+ */
+public class StripedTokenBuckets {
+
+    private final Bucket[] buckets;
+    private final int mask;
+    private final double capacity;
+    private final double refillPerNano;
+    private final long secondsPerToken;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param stripes         number of buckets, rounded up to a power of two
+     * @param capacity        burst size of each bucket
+     * @param refillPerSecond tokens added back to each bucket per second
+     */
+    public StripedTokenBuckets(int stripes, int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.buckets = new Bucket[size];
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.secondsPerToken = (long) Math.ceil(1 / refillPerSecond);
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket(capacity, now);
+        }
+    }
+
+    public boolean tryAcquire(String key) {
+        Bucket bucket = bucket(key);
+        synchronized (bucket) {
+            long now = nanoClock.getAsLong();
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * refillPerNano);
+            bucket.updatedAt = now;
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(String)} for an attempt that should not count.
+     */
+    public void refund(String key) {
+        Bucket bucket = bucket(key);
+        synchronized (bucket) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+        }
+    }
+
+    private Bucket bucket(String key) {
+        int h = key.hashCode();
+        return buckets[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * How long an empty bucket takes to allow one more acquire, rounded up; suitable for Retry-After.
+     */
+    public long secondsPerToken() {
+        return secondsPerToken;
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yash.usermanagement.security;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.security.authentication.Authentication;
+
+import java.util.Date;
+
+/**
+ * Reads the registered claims this service relies on from a validated token's {@link Authentication}.
+ * The JWT layer exposes {@code exp} as a {@link Date}, tokens built by hand may carry epoch seconds.
+ */
+public final class TokenClaims {
+    public static final String JTI = "jti";
+    public static final String ISSUED_AT = "iat";
+    public static final String EXPIRATION = "exp";
+    // Refresh token family of the login that issued the token
+    public static final String SESSION_ID = "sid";
+
+    private TokenClaims() {
+    }
+
+    @Nullable
+    public static String jti(Authentication authentication) {
+        return authentication.getAttributes().get(JTI) instanceof String jti ? jti : null;
+    }
+
+    @Nullable
+    public static String sessionId(Authentication authentication) {
+        return authentication.getAttributes().get(SESSION_ID) instanceof String sid ? sid : null;
+    }
+
+    /**
+     * @return {@code exp} in epoch seconds, or {@code null} if the token has none
+     */
+    @Nullable
+    public static Long expiresAt(Authentication authentication) {
+        Object claim = authentication.getAttributes().get(EXPIRATION);
+        if (claim instanceof Date date) {
+            return date.toInstant().getEpochSecond();
+        }
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids ({@code jti}) of access tokens that were logged out before they expired. An entry is only needed
+ * until its token's {@code exp}, after which the JWT validator rejects the token anyway, so entries are
+ * dropped by a hashed timing wheel with one slot per tick. The wheel spans the access token lifetime;
+ * expiry times beyond that are clamped, which bounds the store to the logouts of one token lifetime.
+ * <p>
+ * Lookups go through a {@link RotatingBloomFilter} first, rotated once per token lifetime, so the common
+ * case of a token that was never revoked costs a few bit probes and no map lookup. Neither path
+ * allocates, so {@link #isRevoked(String)} can run on every request.
+ * <p>
+ * The store is per instance; {@link RevocationBroadcaster} shares local revocations with the other
+ * instances and feeds theirs in through {@link #applyRemote(String, long)}.
+ */
+@Singleton
+public class TokenRevocationStore {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Queue<Revocation>[] wheel;
+    private final long tickSeconds;
+    private final long maxTtlSeconds;
+    private final LongSupplier clock;
+    private final ApplicationEventPublisher<TokenRevokedEvent> eventPublisher;
+    private final RotatingBloomFilter bloomFilter;
+    private final Counter bloomFalsePositives;
+    // Wheel slots, the cursor and the rotation time are guarded by this
+    private long lastTick;
+    private long nextRotation;
+
+    @Inject
+    public TokenRevocationStore(MeterRegistry meterRegistry,
+            @Value("${micronaut.security.token.generator.access-token.expiration:3600}") long maxTtlSeconds,
+            @Value("${users.security.revocation.tick:1s}") Duration tick,
+            @Value("${users.security.revocation.bloom.expected-insertions:100000}") int expectedInsertions,
+            @Value("${users.security.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            ApplicationEventPublisher<TokenRevokedEvent> eventPublisher) {
+        this(meterRegistry, maxTtlSeconds, tick, expectedInsertions, falsePositiveRate,
+                () -> System.currentTimeMillis() / 1000, eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenRevocationStore(MeterRegistry meterRegistry, long maxTtlSeconds, Duration tick, int expectedInsertions,
+            double falsePositiveRate, LongSupplier clock, ApplicationEventPublisher<TokenRevokedEvent> eventPublisher) {
+        this.tickSeconds = Math.max(1, tick.toSeconds());
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.bloomFilter = new RotatingBloomFilter(expectedInsertions, falsePositiveRate);
+        this.nextRotation = clock.getAsLong() + maxTtlSeconds;
+        Gauge.builder("auth.revoked.tokens", revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.false.positive.rate", bloomFilter,
+                        RotatingBloomFilter::expectedFalsePositiveRate)
+                .description("Estimated chance that a token that was never revoked still needs a map lookup")
+                .register(meterRegistry);
+        this.bloomFalsePositives = Counter.builder("auth.revocation.bloom.false.positives")
+                .description("Lookups the Bloom filter passed on that were not revoked")
+                .register(meterRegistry);
+        int slots = (int) (maxTtlSeconds / tickSeconds) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.lastTick = clock.getAsLong() / tickSeconds;
+    }
+
+    /**
+     * @param jti       token id
+     * @param expiresAt token {@code exp} in epoch seconds, or {@code null} if the token has none
+     */
+    public void revoke(String jti, Long expiresAt) {
+        record(jti, expiresAt, true);
+    }
+
+    /**
+     * Records a revocation made on another instance. Replays of one already known are ignored.
+     *
+     * @return whether the revocation was new here
+     */
+    public boolean applyRemote(String jti, long expiresAt) {
+        Long known = revoked.get(jti);
+        if (known != null && known >= Math.min(expiresAt, clock.getAsLong() + maxTtlSeconds)) {
+            return false;
+        }
+        return record(jti, expiresAt, false);
+    }
+
+    private boolean record(String jti, Long expiresAt, boolean local) {
+        long now = clock.getAsLong();
+        long expiry = expiresAt == null ? now + maxTtlSeconds : Math.min(expiresAt, now + maxTtlSeconds);
+        if (expiry <= now) {
+            return false;
+        }
+        synchronized (this) {
+            // Filter first: a concurrent lookup must not see the map entry before the filter knows about it
+            bloomFilter.add(jti);
+            revoked.merge(jti, expiry, Math::max);
+            // Never file into a slot the wheel has already passed, or it would wait a whole revolution
+            long tick = Math.max(expiry / tickSeconds, lastTick + 1);
+            wheel[(int) (tick % wheel.length)].add(new Revocation(jti, expiry));
+        }
+        eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiry, local));
+        return true;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            return true;
+        }
+        bloomFalsePositives.increment();
+        return false;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelay = "${users.security.revocation.tick:1s}")
+    void advance() {
+        expire(clock.getAsLong());
+    }
+
+    synchronized void expire(long now) {
+        long nowTick = now / tickSeconds;
+        // After a long pause one revolution covers every slot
+        long from = Math.max(lastTick + 1, nowTick - wheel.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Revocation> slot = wheel[(int) (tick % wheel.length)];
+            List<Revocation> notDue = new ArrayList<>(0);
+            Revocation entry;
+            while ((entry = slot.poll()) != null) {
+                if (entry.expiresAt <= now) {
+                    // A later revoke of the same jti may have pushed its expiry out
+                    revoked.remove(entry.jti, entry.expiresAt);
+                } else {
+                    notDue.add(entry);
+                }
+            }
+            slot.addAll(notDue);
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        if (now >= nextRotation) {
+            // Anything added before the previous rotation has expired by now, so its bits can go
+            bloomFilter.rotate();
+            nextRotation = now + maxTtlSeconds;
+        }
+    }
+
+    private record Revocation(String jti, long expiresAt) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.yash.usermanagement.security;
+
+/**
+ * Published by {@link TokenRevocationStore} whenever a token id is revoked, so anything holding on to
+ * validated tokens can drop it. {@code local} is false for revocations received from another instance,
+ * which must not be broadcast again.
+ */
+public class TokenRevokedEvent {
+    private final String jti;
+    private final long expiresAt;
+    private final boolean local;
+
+    public TokenRevokedEvent(String jti, long expiresAt, boolean local) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.local = local;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    /**
+     * @return epoch seconds after which the revocation no longer matters
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+}
@@ -7,5 +7,7 @@ import reactor.core.publisher.Mono;
 public interface AuthenticationService {
     Mono<LoginResponseDTO> login(LoginRequestDTO loginRequest);
 
+    Mono<LoginResponseDTO> refresh(String refreshToken);
+
     Mono<Void> logout(String token);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.yash.usermanagement.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff: the delay doubles per attempt up to {@code max}, and the wait is drawn
+ * from the upper half of it so callers that failed together do not come back together.
+ */
+public final class Backoff {
+    private final long initialMillis;
+    private final long maxMillis;
+
+    public Backoff(Duration initial, Duration max) {
+        this.initialMillis = initial.toMillis();
+        this.maxMillis = max.toMillis();
+    }
+
+    /**
+     * Delay before the next try after {@code attempt} failed tries, counting from 1.
+     */
+    public Duration delay(int attempt) {
+        long exponential = initialMillis << Math.min(attempt - 1, 30);
+        long delay = Math.min(maxMillis, exponential > 0 ? exponential : maxMillis);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+}
@@ -0,0 +1,133 @@
+package com.yash.usermanagement.service;
+
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While closed it tracks the outcome of the last {@code windowSize} calls
+ * and opens once at least {@code minimumCalls} of them were made and the failure rate reaches
+ * {@code failureRateThreshold}. While open every call is refused; after {@code openDuration} it lets
+ * {@code halfOpenCalls} trial calls through, closing when all of them succeed and opening again on the
+ * first failure.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final BiConsumer<State, State> onTransition;
+
+    // All guarded by this
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos,
+            int halfOpenCalls, LongSupplier nanoClock, BiConsumer<State, State> onTransition) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+        this.onTransition = onTransition;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * @return whether a call may go ahead; if so, exactly one of the {@code on*} methods must follow
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && (double) failures / recorded >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * For a call that was admitted but ended without an outcome, such as a cancelled one.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        if (to == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+        if (to == State.HALF_OPEN) {
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (to == State.CLOSED) {
+            recorded = 0;
+            failures = 0;
+            next = 0;
+        }
+        onTransition.accept(from, to);
+    }
+}
@@ -0,0 +1,209 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Coalesces notifications bound for the same path into one request to that path's bulk endpoint
+ * ({@code path + bulkSuffix}, a JSON array of the single bodies). A batch is sent once it holds
+ * {@code maxBatchSize} items or {@code linger} after its first item, whichever comes first; each
+ * caller's {@link Mono} completes when the batch carrying its item has been accepted. Batches are
+ * keyed by path alone: the {@link Sender} authenticates every request the same way, so items from
+ * different callers share a batch.
+ * <p>
+ * Buffering is bounded across all paths. Once {@code maxBuffered} items are waiting, new items are
+ * refused with {@link ServiceUnavailableException} so the caller backs off instead of queueing without
+ * limit. A path whose bulk endpoint answers 404, 405 or 501 is sent one item at a time until
+ * {@code unsupportedRecheck} has passed, when bulk is tried again. At most {@code fallbackConcurrency}
+ * of a batch's single sends are in flight at once, so a fallen-back batch stays inside the per-path
+ * bulkhead instead of having most of its items refused.
+ */
+public class NotificationBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationBatcher.class);
+    private static final Set<HttpStatus> BULK_UNSUPPORTED =
+            Set.of(HttpStatus.NOT_FOUND, HttpStatus.METHOD_NOT_ALLOWED, HttpStatus.NOT_IMPLEMENTED);
+
+    /**
+     * Posts an already serialized JSON body with the sender's own credential.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        Mono<Void> post(String path, String jsonBody);
+    }
+
+    private final Sender sender;
+    private final int maxBatchSize;
+    private final Duration linger;
+    private final int maxBuffered;
+    private final int fallbackConcurrency;
+    private final String bulkSuffix;
+    private final long unsupportedRecheckNanos;
+    private final Scheduler timer;
+    private final LongSupplier nanoClock;
+    private final Map<String, Batch> open = new ConcurrentHashMap<>();
+    private final Map<String, Long> bulkUnsupportedUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final Counter rejected;
+    private final Counter fallbacks;
+    private final DistributionSummary batchSizes;
+
+    public NotificationBatcher(Sender sender, MeterRegistry meterRegistry, int maxBatchSize, Duration linger,
+            int maxBuffered, int fallbackConcurrency, String bulkSuffix, Duration unsupportedRecheck, Scheduler timer,
+            LongSupplier nanoClock) {
+        this.sender = sender;
+        this.maxBatchSize = maxBatchSize;
+        this.linger = linger;
+        this.maxBuffered = maxBuffered;
+        this.fallbackConcurrency = fallbackConcurrency;
+        this.bulkSuffix = bulkSuffix;
+        this.unsupportedRecheckNanos = unsupportedRecheck.toNanos();
+        this.timer = timer;
+        this.nanoClock = nanoClock;
+        Gauge.builder("notification.batcher.buffered", buffered, AtomicInteger::get)
+                .description("Notifications waiting to be sent in a batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.batcher.rejected")
+                .description("Notifications refused because the batch buffer was full")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("notification.batcher.fallbacks")
+                .description("Batches sent item by item because the bulk endpoint is not available")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notification.batcher.batch.size")
+                .description("Notifications per bulk request")
+                .register(meterRegistry);
+    }
+
+    public Mono<Void> submit(String path, String jsonBody) {
+        return Mono.defer(() -> {
+            if (!bulkSupported(path)) {
+                return sender.post(path, jsonBody);
+            }
+            if (buffered.incrementAndGet() > maxBuffered) {
+                buffered.decrementAndGet();
+                rejected.increment();
+                return Mono.error(new ServiceUnavailableException("Notification buffer is full"));
+            }
+            Sinks.One<Void> done = Sinks.one();
+            List<Item> full = null;
+            synchronized (this) {
+                Batch batch = open.computeIfAbsent(path, k -> new Batch());
+                batch.items.add(new Item(jsonBody, done));
+                if (batch.items.size() == 1) {
+                    timer.schedule(() -> flush(path, batch), linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                if (batch.items.size() >= maxBatchSize) {
+                    open.remove(path, batch);
+                    full = batch.take();
+                }
+            }
+            if (full != null) {
+                send(path, full);
+            }
+            return done.asMono();
+        });
+    }
+
+    /**
+     * Sends everything still buffered, for shutdown.
+     */
+    public void flushAll() {
+        for (Map.Entry<String, Batch> entry : open.entrySet()) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    int buffered() {
+        return buffered.get();
+    }
+
+    private void flush(String path, Batch batch) {
+        List<Item> items;
+        synchronized (this) {
+            // Already sent when it filled up; a new batch for the path has its own timer
+            if (!open.remove(path, batch)) {
+                return;
+            }
+            items = batch.take();
+        }
+        send(path, items);
+    }
+
+    private void send(String path, List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        buffered.addAndGet(-items.size());
+        batchSizes.record(items.size());
+        String body = "[" + String.join(",", items.stream().map(Item::jsonBody).toList()) + "]";
+        sender.post(path + bulkSuffix, body)
+                .onErrorResume(e -> e instanceof HttpClientResponseException response
+                        && BULK_UNSUPPORTED.contains(response.getStatus()), e -> {
+                    LOG.info("Bulk endpoint {}{} unavailable ({}), sending items singly", path, bulkSuffix,
+                            e.getMessage());
+                    bulkUnsupportedUntil.put(path, nanoClock.getAsLong() + unsupportedRecheckNanos);
+                    fallbacks.increment();
+                    return sendSingly(path, items);
+                })
+                .subscribe(ignored -> { }, e -> items.forEach(item -> item.done.tryEmitError(e)),
+                        () -> items.forEach(item -> item.done.tryEmitEmpty()));
+    }
+
+    // Completes each item on its own outcome, so one bad item does not fail the rest
+    private Mono<Void> sendSingly(String path, List<Item> items) {
+        return Flux.fromIterable(items)
+                .flatMap(item -> sender.post(path, item.jsonBody)
+                        .doOnSuccess(ignored -> item.done.tryEmitEmpty())
+                        .onErrorResume(e -> {
+                            item.done.tryEmitError(e);
+                            return Mono.empty();
+                        }), fallbackConcurrency)
+                .then();
+    }
+
+    private boolean bulkSupported(String path) {
+        Long until = bulkUnsupportedUntil.get(path);
+        if (until == null) {
+            return true;
+        }
+        if (nanoClock.getAsLong() - until >= 0) {
+            bulkUnsupportedUntil.remove(path, until);
+            return true;
+        }
+        return false;
+    }
+
+    private record Item(String jsonBody, Sinks.One<Void> done) {
+    }
+
+    private static final class Batch {
+        private List<Item> items = new ArrayList<>();
+
+        private List<Item> take() {
+            List<Item> taken = items;
+            items = new ArrayList<>();
+            return taken;
+        }
+    }
+}
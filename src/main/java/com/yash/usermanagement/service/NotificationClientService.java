@@ -54,28 +54,82 @@ package com.yash.usermanagement.service;
 
 import com.yash.usermanagement.dto.CreateNotificationRequest;
 import com.yash.usermanagement.dto.NotificationRequest;
+import com.yash.usermanagement.dto.PendingNotification;
 import com.yash.usermanagement.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.context.annotation.Value;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.context.ServerRequestContext;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Singleton
 public class NotificationClientService {
     private final HttpClient httpClient;
-    private final String notificationServiceUrl;
+    private final NotificationLoadBalancer loadBalancer;
+    // null unless notification.batching.enabled
+    private final NotificationBatcher batcher;
+    private final Scheduler batchTimer;
+    private final NotificationResilience resilience;
+    private final NotificationRetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    // Sent with every notification; callers' tokens are never forwarded. Null if not configured
+    private final String serviceAuthorization;
 
-    public NotificationClientService(@Client("${notification.service.url}") HttpClient httpClient,
-                                     @Value("${notification.service.url}") String notificationServiceUrl) {
+    // Pool size, HTTP/2 and timeouts come from micronaut.http.services.notification
+    public NotificationClientService(@Client(id = "notification") HttpClient httpClient,
+                                     NotificationLoadBalancer loadBalancer,
+                                     MeterRegistry meterRegistry,
+                                     NotificationResilience resilience,
+                                     NotificationRetryPolicy retryPolicy,
+                                     @Value("${notification.service.credential:}") String serviceCredential,
+                                     @Value("${notification.batching.enabled:false}") boolean batchingEnabled,
+                                     @Value("${notification.batching.max-batch-size:100}") int maxBatchSize,
+                                     @Value("${notification.batching.linger:50ms}") Duration linger,
+                                     @Value("${notification.batching.max-buffered:10000}") int maxBuffered,
+                                     @Value("${notification.batching.fallback-concurrency:4}") int fallbackConcurrency,
+                                     @Value("${notification.batching.bulk-suffix:/batch}") String bulkSuffix,
+                                     @Value("${notification.batching.unsupported-recheck:10m}") Duration unsupportedRecheck) {
         this.httpClient = httpClient;
-        this.notificationServiceUrl = notificationServiceUrl;
+        this.loadBalancer = loadBalancer;
+        this.resilience = resilience;
+        this.retryPolicy = retryPolicy;
+        this.meterRegistry = meterRegistry;
+        this.serviceAuthorization = serviceCredential.isBlank() ? null : "Bearer " + serviceCredential;
+        if (batchingEnabled) {
+            this.batchTimer = Schedulers.newSingle("notification-batcher");
+            this.batcher = new NotificationBatcher(this::postAsService, meterRegistry, maxBatchSize, linger,
+                    maxBuffered, fallbackConcurrency, bulkSuffix, unsupportedRecheck, batchTimer, System::nanoTime);
+        } else {
+            this.batchTimer = null;
+            this.batcher = null;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (batcher != null) {
+            batcher.flushAll();
+            batchTimer.dispose();
+        }
     }
 
     private Optional<String> getAuthorizationHeader() {
@@ -83,40 +137,136 @@ public class NotificationClientService {
                 .map(req -> req.getHeaders().get(HttpHeaders.AUTHORIZATION));
     }
 
-    private Mono<Void> sendNotification(String path, Object request, String authorization) {
-        MutableHttpRequest<Object> httpRequest = HttpRequest.POST(notificationServiceUrl + path, request);
-        if (authorization != null) {
-            httpRequest.header(HttpHeaders.AUTHORIZATION, authorization);
-        }
-        return Mono.from(httpClient.exchange(httpRequest)).then();
+    private Mono<Void> sendNotification(String path, Object request) {
+        return exchange(path, baseUrl -> {
+            MutableHttpRequest<Object> httpRequest = HttpRequest.POST(baseUrl + path, request);
+            if (serviceAuthorization != null) {
+                httpRequest.header(HttpHeaders.AUTHORIZATION, serviceAuthorization);
+            }
+            return httpRequest;
+        });
+    }
+
+    public Mono<Void> send(PendingNotification notification) {
+        return sendNotification(notification.getPath(), notification.getBody());
+    }
+
+    /**
+     * Sends a body that was serialized when the notification was queued, authenticated with the service
+     * credential. With batching enabled the body may travel in one bulk request with others for the same path.
+     */
+    public Mono<Void> sendAsService(String path, String jsonBody) {
+        return batcher != null ? batcher.submit(path, jsonBody) : postAsService(path, jsonBody);
+    }
+
+    /**
+     * Whether {@link #sendAsService(String, String)} coalesces bodies; callers should then submit
+     * everything they have at once rather than wait for each send.
+     */
+    public boolean isBatching() {
+        return batcher != null;
+    }
+
+    private Mono<Void> postAsService(String path, String jsonBody) {
+        return exchange(path, baseUrl -> {
+            MutableHttpRequest<String> httpRequest = HttpRequest.POST(baseUrl + path, jsonBody)
+                    .contentType(MediaType.APPLICATION_JSON_TYPE);
+            if (serviceAuthorization != null) {
+                httpRequest.header(HttpHeaders.AUTHORIZATION, serviceAuthorization);
+            }
+            return httpRequest;
+        });
+    }
+
+    private Mono<Void> exchange(String path, Function<String, MutableHttpRequest<?>> request) {
+        // One deadline for the whole call: retries and hedges resubscribe to this Mono, each attempt
+        // going to the instance the load balancer picks at that moment
+        Mono<Void> call = resilience.call(path, () -> {
+            NotificationLoadBalancer.Host host = loadBalancer.choose();
+            MutableHttpRequest<?> httpRequest = request.apply(host.baseUrl());
+            long start = System.nanoTime();
+            long hostStart = host.start();
+            return Mono.from(httpClient.exchange(httpRequest))
+                    .doOnSuccess(response -> {
+                        host.onSuccess(hostStart);
+                        record(path, response == null ? "none" : String.valueOf(response.getStatus().getCode()),
+                                start);
+                    })
+                    .doOnError(e -> {
+                        if (e instanceof HttpClientResponseException answered && answered.getStatus().getCode() < 500) {
+                            // The instance answered; the request was at fault
+                            host.onSuccess(hostStart);
+                        } else {
+                            host.onFailure(hostStart);
+                        }
+                        record(path, e instanceof HttpClientResponseException response
+                                ? String.valueOf(response.getStatus().getCode()) : "error", start);
+                    })
+                    .doOnCancel(() -> {
+                        host.onCancel(hostStart);
+                        record(path, "cancelled", start);
+                    })
+                    .then();
+        });
+        return retryPolicy.execute(path, () -> call);
+    }
+
+    private void record(String route, String status, long start) {
+        requestTimers.computeIfAbsent(route + ' ' + status, key -> Timer.builder("notification.client.requests")
+                        .description("Calls to the notification service by route and response status")
+                        .tag("route", route)
+                        .tag("status", status)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
-    public Mono<Void> sendUserCreationNotification(User user, String authorization) {
+    public Mono<Void> sendUserCreationNotification(User user) {
+        return send(userCreation(user));
+    }
+
+    public Mono<Void> sendAccountDeletionNotification(Object userId, String email) {
+        return send(accountDeletion(userId, email));
+    }
+
+    public Mono<Void> sendPasswordResetRequestNotification(Object userId, String email) {
+        return send(passwordResetRequest(userId, email));
+    }
+
+    public Mono<Void> sendPasswordResetApprovalNotification(Object userId, String email) {
+        return send(passwordResetApproval(userId, email));
+    }
+
+    public Mono<Void> sendPasswordChangeRejectionNotification(Object userId, String email) {
+        return send(passwordChangeRejection(userId, email));
+    }
+
+    public PendingNotification userCreation(User user) {
         CreateNotificationRequest request = new CreateNotificationRequest(
             user.getId(),
             "Welcome " + user.getFirstName() + "!",
             "Your account has been created successfully."
         );
-        return sendNotification("/api/notifications/user-creation", request, authorization);
+        return new PendingNotification("/api/notifications/user-creation", request);
     }
 
-    public Mono<Void> sendAccountDeletionNotification(Object userId, String email, String authorization) {
+    public PendingNotification accountDeletion(Object userId, String email) {
         NotificationRequest request = new NotificationRequest(email, "Your account was deleted");
-        return sendNotification("/notify/account-deletion", request, authorization);
+        return new PendingNotification("/notify/account-deletion", request);
     }
 
-    public Mono<Void> sendPasswordResetRequestNotification(Object userId, String email) {
+    public PendingNotification passwordResetRequest(Object userId, String email) {
         NotificationRequest request = new NotificationRequest(email, "Your password reset request is pending approval");
-        return sendNotification("/notify/password-reset-request", request, null); // No specific authorization needed for this one
+        return new PendingNotification("/notify/password-reset-request", request);
     }
 
-    public Mono<Void> sendPasswordResetApprovalNotification(Object userId, String email) {
+    public PendingNotification passwordResetApproval(Object userId, String email) {
         NotificationRequest request = new NotificationRequest(email, "Your password reset request has been approved.");
-        return sendNotification("/notify/password-reset-approval", request, null); // No specific authorization needed for this one
+        return new PendingNotification("/notify/password-reset-approval", request);
     }
 
-    public Mono<Void> sendPasswordChangeRejectionNotification(Object userId, String email) {
+    public PendingNotification passwordChangeRejection(Object userId, String email) {
         NotificationRequest request = new NotificationRequest(email, "Your password reset request has been rejected.");
-        return sendNotification("/notify/password-reset-rejection", request, null); // No specific authorization needed for this one
+        return new PendingNotification("/notify/password-reset-rejection", request);
     }
-}
\ No newline at end of file
+}
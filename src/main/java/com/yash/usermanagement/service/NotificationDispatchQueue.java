@@ -0,0 +1,168 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.dto.PendingNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sends best-effort notifications off the request thread. Callers {@link #offer} a notification and
+ * move on; a few worker threads take them from a bounded queue and send them one at a time. When the
+ * queue is full the notification is dropped and counted rather than slowing the caller down.
+ * <p>
+ * Nothing here survives a crash, so notifications that must arrive belong in the
+ * {@link NotificationOutbox}. On shutdown the queue stops taking work and the workers drain what is
+ * left for up to {@code notification.dispatch.shutdown-timeout}.
+ */
+@Singleton
+public class NotificationDispatchQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatchQueue.class);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final Function<PendingNotification, Mono<Void>> sender;
+    private final BlockingQueue<Task> queue;
+    private final Duration sendTimeout;
+    private final Duration shutdownTimeout;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter enqueued;
+    private final Counter droppedFull;
+    private final Counter droppedShutdown;
+    private final Timer sent;
+    private final Timer failed;
+    private volatile boolean accepting = true;
+
+    @Inject
+    public NotificationDispatchQueue(NotificationClientService notificationClientService, MeterRegistry meterRegistry,
+            @Value("${notification.dispatch.capacity:1000}") int capacity,
+            @Value("${notification.dispatch.workers:2}") int workerCount,
+            @Value("${notification.dispatch.send-timeout:10s}") Duration sendTimeout,
+            @Value("${notification.dispatch.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this(notificationClientService::send, meterRegistry, capacity, workerCount, sendTimeout, shutdownTimeout);
+    }
+
+    NotificationDispatchQueue(Function<PendingNotification, Mono<Void>> sender, MeterRegistry meterRegistry,
+            int capacity, int workerCount, Duration sendTimeout, Duration shutdownTimeout) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sendTimeout = sendTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.enqueued = Counter.builder("notification.dispatch.enqueued")
+                .description("Notifications handed to the dispatch queue")
+                .register(meterRegistry);
+        this.droppedFull = dropped(meterRegistry, "full");
+        this.droppedShutdown = dropped(meterRegistry, "shutdown");
+        this.sent = latency(meterRegistry, "sent");
+        this.failed = latency(meterRegistry, "failed");
+        Gauge.builder("notification.dispatch.queued", queue, BlockingQueue::size)
+                .description("Notifications waiting for a worker")
+                .register(meterRegistry);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "notification-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notification.dispatch.dropped")
+                .description("Notifications discarded without being sent")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Timer latency(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("notification.dispatch.latency")
+                .description("Time from enqueue until the send finished")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether the notification was queued; {@code false} means it was dropped
+     */
+    public boolean offer(PendingNotification notification) {
+        if (!accepting) {
+            droppedShutdown.increment();
+            return false;
+        }
+        if (!queue.offer(new Task(notification, System.nanoTime()))) {
+            droppedFull.increment();
+            LOG.warn("Notification dispatch queue is full, dropping notification to {}", notification.getPath());
+            return false;
+        }
+        enqueued.increment();
+        return true;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    void close() {
+        accepting = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<Task> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            droppedShutdown.increment(left.size());
+            LOG.warn("Dropped {} queued notifications at shutdown", left.size());
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void work() {
+        // Keeps going after close() until the queue is empty
+        while (accepting || !queue.isEmpty()) {
+            Task task;
+            try {
+                task = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task != null) {
+                dispatch(task);
+            }
+        }
+    }
+
+    private void dispatch(Task task) {
+        try {
+            sender.apply(task.notification).block(sendTimeout);
+            sent.record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failed.record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+            LOG.warn("Notification to {} failed: {}", task.notification.getPath(), e.getMessage());
+        }
+    }
+
+    private record Task(PendingNotification notification, long enqueuedAt) {
+    }
+}
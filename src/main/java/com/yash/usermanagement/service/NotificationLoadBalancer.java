@@ -0,0 +1,295 @@
+package com.yash.usermanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the notification service instance for each call. Instances come from the {@link DiscoveryClient}
+ * (Consul in deployment) under {@code notification.service.id} and are refreshed every
+ * {@code notification.discovery.refresh-interval}; until discovery returns any, or with discovery
+ * disabled, {@code notification.service.url} is the only instance.
+ * <p>
+ * Choice is power of two choices: two random instances are compared and the one with the lower
+ * {@code (in-flight + 1) * latency} wins, where latency is a peak-sensitive moving average that jumps to
+ * a slow sample at once and decays over {@code notification.load-balancer.decay}. A failed call counts as
+ * taking at least {@code failure-penalty}, so an instance that fails fast does not look cheap and draw
+ * more traffic than the healthy ones. An instance failing
+ * {@code eject-after-failures} calls in a row is left out for {@code ejection-time}, but never more than
+ * {@code max-ejected-percent} of the instances at once; if every instance is ejected all are used.
+ */
+@Singleton
+public class NotificationLoadBalancer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationLoadBalancer.class);
+    private static final double UNSAMPLED_PENALTY = Duration.ofMinutes(1).toNanos();
+
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final boolean discoveryEnabled;
+    private final URI fallback;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final int ejectAfterFailures;
+    private final long ejectionNanos;
+    private final int maxEjectedPercent;
+    private final LongSupplier nanoClock;
+    private final Counter ejections;
+    private volatile List<Host> hosts;
+
+    @Inject
+    public NotificationLoadBalancer(DiscoveryClient discoveryClient, MeterRegistry meterRegistry,
+            @Value("${notification.service.id:notification-service}") String serviceId,
+            @Value("${notification.discovery.enabled:true}") boolean discoveryEnabled,
+            @Value("${notification.service.url}") String fallbackUrl,
+            @Value("${notification.load-balancer.decay:10s}") Duration decay,
+            @Value("${notification.load-balancer.failure-penalty:2s}") Duration failurePenalty,
+            @Value("${notification.load-balancer.eject-after-failures:5}") int ejectAfterFailures,
+            @Value("${notification.load-balancer.ejection-time:30s}") Duration ejectionTime,
+            @Value("${notification.load-balancer.max-ejected-percent:50}") int maxEjectedPercent) {
+        this(discoveryClient, meterRegistry, serviceId, discoveryEnabled, URI.create(fallbackUrl), decay,
+                failurePenalty, ejectAfterFailures, ejectionTime, maxEjectedPercent, System::nanoTime);
+    }
+
+    NotificationLoadBalancer(DiscoveryClient discoveryClient, MeterRegistry meterRegistry, String serviceId,
+            boolean discoveryEnabled, URI fallback, Duration decay, Duration failurePenalty, int ejectAfterFailures,
+            Duration ejectionTime, int maxEjectedPercent, LongSupplier nanoClock) {
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.discoveryEnabled = discoveryEnabled;
+        this.fallback = fallback;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.maxEjectedPercent = maxEjectedPercent;
+        this.nanoClock = nanoClock;
+        this.hosts = List.of(new Host(fallback));
+        this.ejections = Counter.builder("notification.lb.ejections")
+                .description("Notification service instances taken out of rotation after repeated failures")
+                .register(meterRegistry);
+        Gauge.builder("notification.lb.instances", this, lb -> lb.hosts.size())
+                .description("Notification service instances known")
+                .register(meterRegistry);
+        Gauge.builder("notification.lb.ejected", this, NotificationLoadBalancer::ejectedCount)
+                .description("Notification service instances currently ejected")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = "${notification.discovery.refresh-interval:10s}")
+    void scheduledRefresh() {
+        if (discoveryEnabled) {
+            refresh().subscribe(count -> { },
+                    e -> LOG.warn("Could not look up {} instances, keeping {}: {}", serviceId, hosts.size(),
+                            e.getMessage()));
+        }
+    }
+
+    /**
+     * Replaces the instance list with what discovery returns, keeping the statistics of instances that
+     * are still there. An empty answer keeps the current list.
+     *
+     * @return the number of instances now in use
+     */
+    Mono<Integer> refresh() {
+        return Flux.from(discoveryClient.getInstances(serviceId))
+                .next()
+                .map(instances -> {
+                    List<URI> uris = instances.stream()
+                            .filter(instance -> !HealthStatus.DOWN.equals(instance.getHealthStatus()))
+                            .map(ServiceInstance::getURI)
+                            .distinct()
+                            .toList();
+                    if (!uris.isEmpty()) {
+                        update(uris);
+                    }
+                    return hosts.size();
+                })
+                .defaultIfEmpty(hosts.size());
+    }
+
+    private synchronized void update(List<URI> uris) {
+        Map<URI, Host> current = new LinkedHashMap<>();
+        hosts.forEach(host -> current.put(host.uri, host));
+        List<Host> updated = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            updated.add(current.getOrDefault(uri, new Host(uri)));
+        }
+        if (!updated.stream().map(host -> host.uri).toList().equals(hosts.stream().map(host -> host.uri).toList())) {
+            LOG.info("Notification service instances: {}", uris);
+        }
+        hosts = List.copyOf(updated);
+    }
+
+    public Host choose() {
+        List<Host> all = hosts;
+        long now = nanoClock.getAsLong();
+        List<Host> candidates = new ArrayList<>(all.size());
+        for (Host host : all) {
+            if (!host.ejected(now)) {
+                candidates.add(host);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = all;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Host a = candidates.get(first);
+        Host b = candidates.get(second);
+        return b.load() < a.load() ? b : a;
+    }
+
+    List<Host> hosts() {
+        return hosts;
+    }
+
+    private int ejectedCount() {
+        long now = nanoClock.getAsLong();
+        return (int) hosts.stream().filter(host -> host.ejected(now)).count();
+    }
+
+    private synchronized boolean mayEject() {
+        List<Host> all = hosts;
+        return (ejectedCount() + 1) * 100 <= all.size() * maxEjectedPercent;
+    }
+
+    /**
+     * One instance and what has been seen of it. Callers report every call they start on it.
+     */
+    public final class Host {
+        private final URI uri;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        // Guarded by this
+        private boolean sampled;
+        private double latencyNanos;
+        private long sampledAt;
+        private int consecutiveFailures;
+        private long ejectedUntil;
+        private boolean ejected;
+
+        private Host(URI uri) {
+            this.uri = uri;
+        }
+
+        public URI uri() {
+            return uri;
+        }
+
+        /**
+         * @return the base URL, without a trailing slash, for building request URLs
+         */
+        public String baseUrl() {
+            String url = uri.toString();
+            return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+
+        public long start() {
+            inFlight.incrementAndGet();
+            return nanoClock.getAsLong();
+        }
+
+        public void onSuccess(long startedAt) {
+            inFlight.decrementAndGet();
+            synchronized (this) {
+                sample(nanoClock.getAsLong() - startedAt);
+                consecutiveFailures = 0;
+            }
+        }
+
+        public void onFailure(long startedAt) {
+            inFlight.decrementAndGet();
+            boolean eject;
+            synchronized (this) {
+                sample(Math.max(nanoClock.getAsLong() - startedAt, failurePenaltyNanos));
+                eject = ++consecutiveFailures >= ejectAfterFailures && !ejected(nanoClock.getAsLong());
+            }
+            if (eject && mayEject()) {
+                synchronized (this) {
+                    ejected = true;
+                    ejectedUntil = nanoClock.getAsLong() + ejectionNanos;
+                    consecutiveFailures = 0;
+                }
+                ejections.increment();
+                LOG.warn("Ejected notification service instance {} for {} ms", uri, ejectionNanos / 1_000_000);
+            }
+        }
+
+        /**
+         * For a call given up without an outcome; its time so far still counts as latency.
+         */
+        public void onCancel(long startedAt) {
+            inFlight.decrementAndGet();
+            synchronized (this) {
+                sample(nanoClock.getAsLong() - startedAt);
+            }
+        }
+
+        int inFlight() {
+            return inFlight.get();
+        }
+
+        synchronized boolean ejected(long now) {
+            if (ejected && now - ejectedUntil >= 0) {
+                ejected = false;
+            }
+            return ejected;
+        }
+
+        synchronized double load() {
+            int pending = inFlight.get();
+            if (!sampled) {
+                // Unknown latency: one probe at a time rather than a flood towards a new instance
+                return pending == 0 ? 0 : UNSAMPLED_PENALTY;
+            }
+            return (pending + 1) * latencyNanos;
+        }
+
+        // Peak EWMA: a slower sample is taken as is, faster ones pull the average down over time
+        private void sample(long nanos) {
+            long now = nanoClock.getAsLong();
+            if (!sampled || nanos > latencyNanos) {
+                latencyNanos = nanos;
+            } else {
+                double weight = Math.exp(-(double) (now - sampledAt) / decayNanos);
+                latencyNanos = latencyNanos * weight + nanos * (1 - weight);
+            }
+            sampled = true;
+            sampledAt = now;
+        }
+
+        @Override
+        public String toString() {
+            return uri.toString();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.dto.PendingNotification;
+import com.yash.usermanagement.model.NotificationOutboxEntry;
+import com.yash.usermanagement.repository.NotificationOutboxRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Notifications waiting to be sent. {@link #enqueue(PendingNotification)} only writes a row, so called
+ * inside a transaction it commits or rolls back with the change it announces; delivery happens later in
+ * {@link NotificationOutboxDispatcher}, off the request path, authenticated with the service credential
+ * rather than the caller's token, which may have expired or been revoked by the time the entry is sent.
+ */
+@Singleton
+public class NotificationOutbox {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final JsonMapper jsonMapper;
+    private final Duration lease;
+
+    public NotificationOutbox(NotificationOutboxRepository outboxRepository, JsonMapper jsonMapper,
+            @Value("${notification.outbox.lease:30s}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.jsonMapper = jsonMapper;
+        this.lease = lease;
+    }
+
+    public Mono<Void> enqueue(PendingNotification notification) {
+        return Mono.fromCallable(() -> {
+                    NotificationOutboxEntry entry = new NotificationOutboxEntry();
+                    entry.setPath(notification.getPath());
+                    entry.setPayload(jsonMapper.writeValueAsString(notification.getBody()));
+                    LocalDateTime now = LocalDateTime.now();
+                    entry.setCreatedAt(now);
+                    entry.setNextAttemptAt(now);
+                    return entry;
+                })
+                .flatMap(outboxRepository::save)
+                .then();
+    }
+
+    /**
+     * Claims up to {@code limit} due entries for this caller. Claimed entries are not due again until the
+     * lease runs out, so an instance that dies mid-batch only delays them.
+     */
+    @Transactional
+    public Flux<NotificationOutboxEntry> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxRepository.findDueForUpdate(now, limit)
+                .collectList()
+                .flatMapMany(entries -> {
+                    if (entries.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    List<UUID> ids = entries.stream().map(NotificationOutboxEntry::getId).toList();
+                    entries.forEach(entry -> entry.setAttempts(entry.getAttempts() + 1));
+                    return outboxRepository.lease(ids, now.plus(lease)).thenMany(Flux.fromIterable(entries));
+                });
+    }
+
+    public Mono<Void> delivered(NotificationOutboxEntry entry) {
+        return outboxRepository.deleteById(entry.getId()).then();
+    }
+
+    /**
+     * @param retryAt when to try again, or {@code null} to give up on the entry
+     */
+    public Mono<Void> failed(NotificationOutboxEntry entry, Throwable error, @Nullable LocalDateTime retryAt) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        return outboxRepository.reschedule(entry.getId(), retryAt, message).then();
+    }
+}
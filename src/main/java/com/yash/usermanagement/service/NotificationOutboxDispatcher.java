@@ -0,0 +1,134 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.model.NotificationOutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.env.Environment;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Delivers {@link NotificationOutbox} entries in batches. A failed send is retried with capped
+ * exponential backoff until {@code notification.outbox.max-attempts}, after which the entry is parked.
+ * Delivery is at least once: an entry whose send succeeded but whose delete failed is sent again.
+ * Entries are sent with {@code notification.service.credential}; without it the notification service
+ * rejects every one, so outside dev and test the dispatcher refuses to start unless it is set.
+ */
+@Singleton
+@Requires(property = "notification.outbox.dispatcher.enabled", notEquals = "false")
+public class NotificationOutboxDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final Set<String> LOCAL_ENVIRONMENTS = Set.of(Environment.DEVELOPMENT, Environment.TEST);
+
+    private final NotificationOutbox outbox;
+    private final NotificationClientService notificationClientService;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Backoff backoff;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter abandoned;
+    private final Timer lag;
+
+    public NotificationOutboxDispatcher(NotificationOutbox outbox, NotificationClientService notificationClientService,
+            MeterRegistry meterRegistry, Environment environment,
+            @Value("${notification.service.credential:}") String serviceCredential,
+            @Value("${notification.outbox.batch-size:100}") int batchSize,
+            @Value("${notification.outbox.concurrency:8}") int concurrency,
+            @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${notification.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${notification.outbox.max-backoff:5m}") Duration maxBackoff) {
+        requireServiceCredential(environment, serviceCredential);
+        this.outbox = outbox;
+        this.notificationClientService = notificationClientService;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new Backoff(initialBackoff, maxBackoff);
+        this.sent = outcome(meterRegistry, "sent");
+        this.retried = outcome(meterRegistry, "retried");
+        this.abandoned = outcome(meterRegistry, "abandoned");
+        this.lag = Timer.builder("notification.outbox.lag")
+                .description("Time from queueing a notification to delivering it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    static void requireServiceCredential(Environment environment, String serviceCredential) {
+        if (serviceCredential != null && !serviceCredential.isBlank()) {
+            return;
+        }
+        if (environment.getActiveNames().stream().noneMatch(LOCAL_ENVIRONMENTS::contains)) {
+            throw new IllegalStateException("notification.service.credential (NOTIFICATION_SERVICE_TOKEN) must be set "
+                    + "while the notification outbox dispatcher is enabled; queued notifications are sent with it");
+        }
+        LOG.error("notification.service.credential (NOTIFICATION_SERVICE_TOKEN) is not set; queued notifications "
+                + "will be sent without authorization and parked once the notification service rejects them");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.outbox.dispatched")
+                .description("Outbox delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = "${notification.outbox.poll-interval:1s}")
+    void drain() {
+        try {
+            Long dispatched;
+            // A full batch means there is probably more waiting; keep going rather than wait for the next poll
+            do {
+                dispatched = dispatchBatch().block();
+            } while (dispatched != null && dispatched == batchSize);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not drain the notification outbox: {}", e.getMessage());
+        }
+    }
+
+    Mono<Long> dispatchBatch() {
+        // A batching client needs the whole claimed batch at once to fill its bulk requests; it bounds the
+        // calls in flight itself
+        return outbox.claimDue(batchSize)
+                .flatMap(this::dispatch, notificationClientService.isBatching() ? batchSize : concurrency)
+                .count();
+    }
+
+    private Mono<Void> dispatch(NotificationOutboxEntry entry) {
+        return notificationClientService.sendAsService(entry.getPath(), entry.getPayload())
+                .then(outbox.delivered(entry))
+                .doOnSuccess(ignored -> {
+                    sent.increment();
+                    lag.record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+                })
+                .onErrorResume(e -> {
+                    if (entry.getAttempts() >= maxAttempts) {
+                        abandoned.increment();
+                        LOG.error("Giving up on notification {} to {} after {} attempts: {}", entry.getId(),
+                                entry.getPath(), entry.getAttempts(), e.getMessage());
+                        return outbox.failed(entry, e, null);
+                    }
+                    retried.increment();
+                    LOG.warn("Notification {} to {} failed, attempt {}: {}", entry.getId(), entry.getPath(),
+                            entry.getAttempts(), e.getMessage());
+                    return outbox.failed(entry, e, LocalDateTime.now().plus(backoff.delay(entry.getAttempts())));
+                })
+                .onErrorResume(e -> {
+                    // The lease runs out and the entry is picked up again
+                    LOG.warn("Could not record outcome of notification {}: {}", entry.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
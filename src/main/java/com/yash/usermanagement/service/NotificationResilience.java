@@ -0,0 +1,167 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import com.yash.usermanagement.filter.RequestDeadlineFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Guards each call to the notification service. Per endpoint path there is a bulkhead capping calls in
+ * flight and a {@link CircuitBreaker} that refuses calls while the endpoint keeps failing; every call
+ * gets a timeout that is the smaller of {@code notification.client.timeout} and the time left on the
+ * inbound request it serves. Refused calls fail right away with {@link ServiceUnavailableException}.
+ * <p>
+ * Timeouts, connection errors, 429 and 5xx responses count against the breaker; other 4xx answers mean
+ * the service is up and count as successes.
+ */
+@Singleton
+public class NotificationResilience {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationResilience.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final int maxConcurrent;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    public NotificationResilience(MeterRegistry meterRegistry,
+            @Value("${notification.client.timeout:2s}") Duration timeout,
+            @Value("${notification.client.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${notification.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${notification.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${notification.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${notification.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${notification.client.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this(meterRegistry, timeout, maxConcurrent, windowSize, minimumCalls, failureRateThreshold, openDuration,
+                halfOpenCalls, System::nanoTime);
+    }
+
+    NotificationResilience(MeterRegistry meterRegistry, Duration timeout, int maxConcurrent, int windowSize,
+            int minimumCalls, double failureRateThreshold, Duration openDuration, int halfOpenCalls,
+            LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.maxConcurrent = maxConcurrent;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> Mono<T> call(String path, Supplier<Mono<T>> call) {
+        // Read while still on the request's thread; the call itself may be subscribed elsewhere, and a
+        // retry resubscribes with less time left
+        long deadline = nanoClock.getAsLong() + budget().toNanos();
+        return Mono.defer(() -> {
+            Endpoint endpoint = endpoints.computeIfAbsent(path, this::endpoint);
+            Duration budget = Duration.ofNanos(deadline - nanoClock.getAsLong());
+            if (budget.isZero() || budget.isNegative()) {
+                endpoint.rejectedByDeadline.increment();
+                return Mono.error(new ServiceUnavailableException("No time left to call the notification service"));
+            }
+            if (!endpoint.breaker.tryAcquire()) {
+                endpoint.rejectedByBreaker.increment();
+                return Mono.error(new ServiceUnavailableException("Notification service is unavailable"));
+            }
+            if (!endpoint.bulkhead.tryAcquire()) {
+                endpoint.breaker.onIgnored();
+                endpoint.rejectedByBulkhead.increment();
+                return Mono.error(new ServiceUnavailableException("Too many calls to the notification service"));
+            }
+            return call.get()
+                    .timeout(budget)
+                    .doOnSuccess(ignored -> endpoint.breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (countsAsFailure(e)) {
+                            endpoint.breaker.onFailure();
+                        } else {
+                            endpoint.breaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(endpoint.breaker::onIgnored)
+                    .doFinally(signal -> endpoint.bulkhead.release());
+        });
+    }
+
+    CircuitBreaker.State state(String path) {
+        Endpoint endpoint = endpoints.get(path);
+        return endpoint == null ? CircuitBreaker.State.CLOSED : endpoint.breaker.state();
+    }
+
+    private Duration budget() {
+        return ServerRequestContext.currentRequest()
+                .flatMap(RequestDeadlineFilter::remaining)
+                .filter(remaining -> remaining.compareTo(timeout) < 0)
+                .orElse(timeout);
+    }
+
+    private static boolean countsAsFailure(Throwable e) {
+        if (e instanceof HttpClientResponseException response) {
+            int status = response.getStatus().getCode();
+            return status >= 500 || status == 429;
+        }
+        return e instanceof TimeoutException || e instanceof HttpClientException;
+    }
+
+    private Endpoint endpoint(String path) {
+        Counter transitions = Counter.builder("notification.client.circuit.transitions")
+                .description("Circuit breaker state changes")
+                .tag("path", path)
+                .register(meterRegistry);
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDuration.toNanos(), halfOpenCalls, nanoClock, (from, to) -> {
+                    transitions.increment();
+                    LOG.warn("Circuit for notification endpoint {} went from {} to {}", path, from, to);
+                });
+        Endpoint endpoint = new Endpoint(breaker, new Semaphore(maxConcurrent),
+                rejected(path, "deadline"), rejected(path, "circuit_open"), rejected(path, "bulkhead"));
+        Gauge.builder("notification.client.circuit.state", breaker, b -> b.state().ordinal())
+                .description("0 closed, 1 half-open, 2 open")
+                .tag("path", path)
+                .register(meterRegistry);
+        Gauge.builder("notification.client.in.flight", endpoint.bulkhead, s -> maxConcurrent - s.availablePermits())
+                .description("Calls to the endpoint currently in flight")
+                .tag("path", path)
+                .register(meterRegistry);
+        return endpoint;
+    }
+
+    private Counter rejected(String path, String reason) {
+        return Counter.builder("notification.client.rejected")
+                .description("Calls refused without reaching the notification service")
+                .tag("path", path)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Endpoint(CircuitBreaker breaker, Semaphore bulkhead, Counter rejectedByDeadline,
+            Counter rejectedByBreaker, Counter rejectedByBulkhead) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.Sinks;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Retries and hedges calls to the notification service.
+ * <p>
+ * A call that failed to connect never reached the service and is retried on any path. Timeouts, 429
+ * and 5xx answers may have been acted on, so they are only retried on the paths listed in
+ * {@code notification.retry.idempotent-paths}; that list is empty by default, so until it is filled in
+ * only connection failures are retried and nothing is hedged. Retries back off exponentially with jitter, and every
+ * retry needs a token from a shared {@link RetryBudget}, so an outage cannot multiply traffic by the
+ * attempt count. Refusals from {@link NotificationResilience} (open circuit, full bulkhead, no time
+ * left) are never retried.
+ * <p>
+ * With hedging on, an idempotent call still running after the path's recent p95 latency gets a second
+ * attempt, also paid from the budget; whichever succeeds first wins and the other is cancelled.
+ */
+@Singleton
+public class NotificationRetryPolicy {
+
+    private final int maxAttempts;
+    private final Backoff backoff;
+    private final Set<String> idempotentPaths;
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final int minHedgeSamples;
+    private final RetryBudget budget;
+    private final LongSupplier nanoClock;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Counter retried;
+    private final Counter budgetExhausted;
+    private final Counter hedges;
+
+    @Inject
+    public NotificationRetryPolicy(MeterRegistry meterRegistry,
+            @Value("${notification.retry.max-attempts:3}") int maxAttempts,
+            @Value("${notification.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${notification.retry.max-backoff:1s}") Duration maxBackoff,
+            @Value("${notification.retry.idempotent-paths:}") List<String> idempotentPaths,
+            @Value("${notification.retry.budget.ratio:0.1}") double budgetRatio,
+            @Value("${notification.retry.budget.min-per-second:1}") double budgetMinPerSecond,
+            @Value("${notification.retry.budget.max-tokens:10}") double budgetMaxTokens,
+            @Value("${notification.retry.hedge.enabled:false}") boolean hedgingEnabled,
+            @Value("${notification.retry.hedge.min-delay:20ms}") Duration minHedgeDelay,
+            @Value("${notification.retry.hedge.min-samples:20}") int minHedgeSamples) {
+        this(meterRegistry, maxAttempts, initialBackoff, maxBackoff, Set.copyOf(idempotentPaths),
+                new RetryBudget(budgetRatio, budgetMinPerSecond, budgetMaxTokens, System::nanoTime),
+                hedgingEnabled, minHedgeDelay, minHedgeSamples, System::nanoTime);
+    }
+
+    NotificationRetryPolicy(MeterRegistry meterRegistry, int maxAttempts, Duration initialBackoff,
+            Duration maxBackoff, Set<String> idempotentPaths, RetryBudget budget, boolean hedgingEnabled,
+            Duration minHedgeDelay, int minHedgeSamples, LongSupplier nanoClock) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = new Backoff(initialBackoff, maxBackoff);
+        this.idempotentPaths = idempotentPaths;
+        this.budget = budget;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = minHedgeDelay;
+        this.minHedgeSamples = minHedgeSamples;
+        this.nanoClock = nanoClock;
+        this.retried = Counter.builder("notification.client.retries")
+                .description("Attempts repeated after a failure")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("notification.client.retry.budget.exhausted")
+                .description("Retries or hedges skipped because the retry budget was empty")
+                .register(meterRegistry);
+        this.hedges = Counter.builder("notification.client.hedges")
+                .description("Second attempts started because the first was slower than p95")
+                .register(meterRegistry);
+        Gauge.builder("notification.client.retry.budget", budget, RetryBudget::available)
+                .description("Retries that may be made right now")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code attempt} with the policy for {@code path}. Each attempt subscribes to the {@link Mono}
+     * it returns, so that Mono must make a fresh call per subscription.
+     */
+    public Mono<Void> execute(String path, Supplier<Mono<Void>> attempt) {
+        return Mono.defer(() -> {
+            budget.onRequest();
+            boolean idempotent = idempotentPaths.contains(path);
+            LatencyWindow window = latencies.computeIfAbsent(path, p -> new LatencyWindow());
+            Supplier<Mono<Void>> timed = () -> timed(window, attempt.get());
+            Supplier<Mono<Void>> once = idempotent && hedgingEnabled ? () -> hedged(window, timed) : timed;
+            return attempt(once, idempotent, 1);
+        });
+    }
+
+    private Mono<Void> attempt(Supplier<Mono<Void>> once, boolean idempotent, int attempt) {
+        return once.get().onErrorResume(e -> {
+            if (attempt >= maxAttempts || !retryable(e, idempotent)) {
+                return Mono.error(e);
+            }
+            if (!budget.tryRetry()) {
+                budgetExhausted.increment();
+                return Mono.error(e);
+            }
+            retried.increment();
+            return Mono.delay(backoff.delay(attempt)).then(Mono.defer(() -> attempt(once, idempotent, attempt + 1)));
+        });
+    }
+
+    private Mono<Void> hedged(LatencyWindow window, Supplier<Mono<Void>> timed) {
+        Duration delay = window.p95(minHedgeSamples);
+        if (delay == null) {
+            return timed.get();
+        }
+        Duration hedgeAfter = delay.compareTo(minHedgeDelay) > 0 ? delay : minHedgeDelay;
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Flux<Signal<Void>> primary = timed.get()
+                .doOnError(e -> primaryFailed.tryEmitEmpty())
+                .materialize()
+                .flux();
+        // A primary that fails outright is left to the retry loop rather than hedged
+        Flux<Signal<Void>> hedge = Mono.delay(hedgeAfter)
+                .takeUntilOther(primaryFailed.asMono())
+                .filter(tick -> {
+                    if (budget.tryRetry()) {
+                        hedges.increment();
+                        return true;
+                    }
+                    budgetExhausted.increment();
+                    return false;
+                })
+                .flatMapMany(tick -> timed.get().materialize());
+        return Flux.merge(primary, hedge)
+                .doOnNext(signal -> {
+                    if (signal.isOnError()) {
+                        error.compareAndSet(null, signal.getThrowable());
+                    }
+                })
+                .filter(Signal::isOnComplete)
+                .next()
+                .switchIfEmpty(Mono.defer(() -> Mono.error(error.get())))
+                .then();
+    }
+
+    private Mono<Void> timed(LatencyWindow window, Mono<Void> call) {
+        return Mono.defer(() -> {
+            long start = nanoClock.getAsLong();
+            return call.doOnSuccess(ignored -> window.record(nanoClock.getAsLong() - start));
+        });
+    }
+
+    static boolean retryable(Throwable e, boolean idempotent) {
+        if (e instanceof ServiceUnavailableException) {
+            return false;
+        }
+        if (neverSent(e)) {
+            return true;
+        }
+        if (!idempotent) {
+            return false;
+        }
+        if (e instanceof HttpClientResponseException response) {
+            int status = response.getStatus().getCode();
+            return status == 429 || (status >= 500 && status != 501);
+        }
+        return e instanceof TimeoutException || e instanceof HttpClientException;
+    }
+
+    private static boolean neverSent(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Latencies of the last SIZE successful attempts for one path
+    private static final class LatencyWindow {
+        private static final int SIZE = 128;
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long[] samples = new long[SIZE];
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private Duration p95;
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SIZE;
+            count = Math.min(SIZE, count + 1);
+            if (++sinceRecompute >= RECOMPUTE_EVERY || p95 == null) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                p95 = Duration.ofNanos(sorted[(int) Math.ceil(count * 0.95) - 1]);
+            }
+        }
+
+        private synchronized Duration p95(int minSamples) {
+            return count < minSamples ? null : p95;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yash.usermanagement.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries at a share of traffic. Every request deposits {@code ratio} of a token and every retry
+ * withdraws a whole one, so retries stay near {@code ratio} times the request rate however many
+ * callers see failures at once. {@code minPerSecond} tokens a second are added regardless of traffic,
+ * so a quiet endpoint can still retry; the balance never exceeds {@code maxTokens}.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+    private final LongSupplier nanoClock;
+
+    // Guarded by this
+    private double tokens;
+    private long refilledAt;
+
+    public RetryBudget(double ratio, double minPerSecond, double maxTokens, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = maxTokens;
+        this.nanoClock = nanoClock;
+        this.tokens = Math.min(maxTokens, minPerSecond);
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    public synchronized void onRequest() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * @return whether a retry may go ahead, taking a token if so
+     */
+    public synchronized boolean tryRetry() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(maxTokens, tokens + (now - refilledAt) / 1e9 * minPerSecond);
+        refilledAt = now;
+    }
+}
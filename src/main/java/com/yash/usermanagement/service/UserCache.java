@@ -0,0 +1,122 @@
+package com.yash.usermanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yash.usermanagement.model.User;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for single users, backed by the Caffeine caches {@code users-by-id} and
+ * {@code users-by-email}. The email cache only holds the user id, so every user is stored once and
+ * evicting by id is enough to drop it from both lookups.
+ * <p>
+ * A load that started before an eviction must not put its older row back. Every eviction is stamped,
+ * loads remember the stamp they started at, and a put from a load that an eviction has overtaken is
+ * dropped. Evict only after the change is committed; a load between an earlier eviction and the commit
+ * would read the old row and cache it.
+ */
+@Singleton
+public class UserCache {
+    public static final String BY_ID = "users-by-id";
+    public static final String BY_EMAIL = "users-by-email";
+
+    private final SyncCache<?> byId;
+    private final SyncCache<?> byEmail;
+    private final AtomicLong stamps = new AtomicLong();
+    // Only needs to outlive the slowest load, so entries expire instead of growing with every write
+    private final Cache<UUID, Long> evictedAt;
+    private volatile long allEvictedAt;
+
+    public UserCache(CacheManager<?> cacheManager) {
+        this.byId = cacheManager.getCache(BY_ID);
+        this.byEmail = cacheManager.getCache(BY_EMAIL);
+        this.evictedAt = Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(5)).build();
+    }
+
+    public Mono<User> getById(UUID id, Supplier<Mono<User>> loader) {
+        Optional<User> cached = byId.get(id, User.class);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        long stamp = stamp();
+        return loader.get().doOnNext(user -> put(user, stamp));
+    }
+
+    public Mono<User> getByEmail(String email, Supplier<Mono<User>> loader) {
+        Optional<User> cached = getIfPresentByEmail(email);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        long stamp = stamp();
+        return loader.get().doOnNext(user -> put(user, stamp));
+    }
+
+    /**
+     * Taken before reading users from the database; pass it to {@link #put(User, long)} with the result.
+     */
+    public long stamp() {
+        return stamps.get();
+    }
+
+    public Optional<User> getIfPresent(UUID id) {
+        return byId.get(id, User.class);
+    }
+
+    public Optional<User> getIfPresentByEmail(String email) {
+        return byEmail.get(email, UUID.class)
+                .flatMap(id -> byId.get(id, User.class))
+                // The index may point at a user whose email has changed since
+                .filter(user -> email.equals(user.getEmail()));
+    }
+
+    public void put(User user, long stamp) {
+        UUID id = user.getId();
+        if (id == null || overtaken(id, stamp)) {
+            return;
+        }
+        byId.put(id, user);
+        if (user.getEmail() != null) {
+            byEmail.put(user.getEmail(), id);
+        }
+        // An eviction may have been stamped between the check and the put; it may also have run its
+        // invalidation before the put landed, so undo the put here
+        if (overtaken(id, stamp)) {
+            invalidate(id);
+        }
+    }
+
+    public void evict(UUID id) {
+        evictedAt.put(id, stamps.incrementAndGet());
+        invalidate(id);
+    }
+
+    // Loads in flight for users that are not cached yet may hold the old address too, so this overtakes
+    // every load that has started so far
+    @SuppressWarnings("unchecked")
+    public void evictByAddressId(UUID addressId) {
+        allEvictedAt = stamps.incrementAndGet();
+        Cache<Object, Object> users = (Cache<Object, Object>) byId.getNativeCache();
+        users.asMap().values().removeIf(value -> value instanceof User user
+                && user.getAddress() != null
+                && addressId.equals(user.getAddress().getId()));
+    }
+
+    private void invalidate(UUID id) {
+        byId.get(id, User.class).ifPresent(user -> byEmail.invalidate(user.getEmail()));
+        byId.invalidate(id);
+    }
+
+    private boolean overtaken(UUID id, long stamp) {
+        Long evicted = evictedAt.getIfPresent(id);
+        return allEvictedAt > stamp || (evicted != null && evicted > stamp);
+    }
+}
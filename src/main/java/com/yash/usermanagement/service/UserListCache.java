@@ -0,0 +1,190 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.model.Address;
+import com.yash.usermanagement.model.User;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of all users behind the admin listing. Single-user writes patch the snapshot in place
+ * instead of dropping it, a stale snapshot is refreshed in the background while it keeps being
+ * served, and concurrent reloads share one query. A write is a single map update; the list handed
+ * to readers is only rebuilt on the first read after a write. Users are listed by id in the order
+ * PostgreSQL sorts uuids, the same order as {@code /users/page}, however the writes arrived.
+ */
+@Singleton
+public class UserListCache {
+    private static final Logger LOG = LoggerFactory.getLogger(UserListCache.class);
+    // Unsigned, byte by byte like PostgreSQL; UUID.compareTo compares the halves as signed longs
+    private static final Comparator<UUID> ID_ORDER = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final AtomicReference<Mono<List<User>>> inFlight = new AtomicReference<>();
+    // Writes made while a reload is running, replayed onto the reloaded rows
+    private final List<Consumer<Map<UUID, User>>> pendingPatches = new ArrayList<>();
+    private volatile Snapshot snapshot;
+
+    public UserListCache(@Value("${users.cache.all.refresh-after:1m}") Duration refreshAfter,
+            @Value("${users.cache.all.expire-after:5m}") Duration expireAfter) {
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+    }
+
+    public Mono<List<User>> get(Supplier<Mono<List<User>>> loader) {
+        return Mono.defer(() -> {
+            Snapshot current = snapshot;
+            long age = current == null ? Long.MAX_VALUE : System.nanoTime() - current.loadedAt;
+            if (age >= expireAfterNanos) {
+                return reload(loader);
+            }
+            if (age >= refreshAfterNanos) {
+                reload(loader).subscribe(users -> { }, e -> LOG.warn("Background refresh of user list failed: {}",
+                        e.getMessage()));
+            }
+            return Mono.just(current.list());
+        });
+    }
+
+    public void upsert(User user) {
+        if (user != null && user.getId() != null) {
+            patch(users -> users.put(user.getId(), user));
+        }
+    }
+
+    public void upsertAll(Collection<User> created) {
+        patch(users -> created.forEach(user -> users.put(user.getId(), user)));
+    }
+
+    public void remove(UUID userId) {
+        patch(users -> users.remove(userId));
+    }
+
+    public void updateAddress(Address address) {
+        patch(users -> users.replaceAll((id, user) -> hasAddress(user, address.getId())
+                ? withAddress(user, address)
+                : user));
+    }
+
+    public void removeAddress(UUID addressId) {
+        patch(users -> users.replaceAll((id, user) -> hasAddress(user, addressId)
+                ? withAddress(user, null)
+                : user));
+    }
+
+    // The lock only orders writes against install(); readers never take it
+    private synchronized void patch(Consumer<Map<UUID, User>> change) {
+        if (inFlight.get() != null) {
+            pendingPatches.add(change);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.apply(change);
+        }
+    }
+
+    private synchronized List<User> install(List<User> loaded) {
+        Map<UUID, User> users = new ConcurrentSkipListMap<>(ID_ORDER);
+        loaded.forEach(user -> users.put(user.getId(), user));
+        pendingPatches.forEach(change -> change.accept(users));
+        pendingPatches.clear();
+        Snapshot installed = new Snapshot(users, System.nanoTime());
+        snapshot = installed;
+        return installed.list();
+    }
+
+    private Mono<List<User>> reload(Supplier<Mono<List<User>>> loader) {
+        Sinks.One<List<User>> result = Sinks.one();
+        Mono<List<User>> shared = result.asMono();
+        Mono<List<User>> running = inFlight.compareAndExchange(null, shared);
+        if (running != null) {
+            return running;
+        }
+        loader.get().defaultIfEmpty(List.of()).subscribe(
+                loaded -> {
+                    List<User> users = install(loaded);
+                    inFlight.set(null);
+                    result.tryEmitValue(users);
+                },
+                e -> {
+                    synchronized (this) {
+                        pendingPatches.clear();
+                    }
+                    inFlight.set(null);
+                    result.tryEmitError(e);
+                });
+        return shared;
+    }
+
+    private static boolean hasAddress(User user, UUID addressId) {
+        return user.getAddress() != null && addressId.equals(user.getAddress().getId());
+    }
+
+    // Cached users are shared with readers, so patches replace them instead of mutating them
+    private static User withAddress(User user, Address address) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setGender(user.getGender());
+        copy.setDateOfBirth(user.getDateOfBirth());
+        copy.setPhoneNumber(user.getPhoneNumber());
+        copy.setRole(user.getRole());
+        copy.setAddress(address);
+        return copy;
+    }
+
+    private static final class Snapshot {
+        private final Map<UUID, User> users;
+        private final long loadedAt;
+        private final AtomicLong version = new AtomicLong();
+        private volatile ListView view;
+
+        private Snapshot(Map<UUID, User> users, long loadedAt) {
+            this.users = users;
+            this.loadedAt = loadedAt;
+        }
+
+        private void apply(Consumer<Map<UUID, User>> change) {
+            change.accept(users);
+            version.incrementAndGet();
+        }
+
+        // The version is read before copying, so a view never claims a write it may have missed
+        private List<User> list() {
+            long current = version.get();
+            ListView cached = view;
+            if (cached != null && cached.version == current) {
+                return cached.users;
+            }
+            List<User> rebuilt = List.copyOf(users.values());
+            view = new ListView(current, rebuilt);
+            return rebuilt;
+        }
+    }
+
+    private record ListView(long version, List<User> users) {
+    }
+}
@@ -1,14 +1,22 @@
 package com.yash.usermanagement.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.List;
 
+import com.yash.usermanagement.dto.BulkCreateUserResult;
+import com.yash.usermanagement.dto.CreateUserRequest;
+import com.yash.usermanagement.dto.UserCredentials;
 import com.yash.usermanagement.dto.UserDeviceDto;
+import com.yash.usermanagement.dto.UserField;
 import com.yash.usermanagement.model.User;
 
 import com.yash.usermanagement.dto.PasswordChangeApprovalDTO;
 import com.yash.usermanagement.dto.PasswordChangeRequestDTO;
+import com.yash.usermanagement.dto.PendingPasswordChangeRequestView;
 import com.yash.usermanagement.model.PasswordChangeRequest;
 import com.yash.usermanagement.model.UserDevice;
 import com.yash.usermanagement.model.Address;
@@ -21,26 +29,47 @@ import io.micronaut.data.model.Pageable;
 public interface UserService {
     Mono<User> createUser(User user);
 
+    // Also queues the welcome notification, committed together with the user
+    Mono<User> createUserAndNotify(User user);
+
+    Flux<BulkCreateUserResult> bulkCreateUsers(Flux<CreateUserRequest> requests);
+
     // List<User> getAllUsers();
 
     Mono<List<User>> getAllUsers();
 
+    Flux<User> getUsersAfter(UUID afterId, int limit);
+
+    Flux<User> getUsersAfter(UUID afterId, int limit, Set<UserField> fields);
+
+    Flux<User> streamAllUsers();
+
     Mono<User> getUserById(UUID id);
 
+    Mono<User> getUserById(UUID id, Set<UserField> fields);
+
+    Flux<User> getUsersByIds(Collection<UUID> ids);
+
     Mono<User> updateUser(UUID id, User user);
 
-    Mono<Void> deleteUser(UUID id, String authorization);
+    Mono<Void> deleteUser(UUID id);
 
     Mono<User> findByEmail(String email);
 
+    Mono<User> findByEmail(String email, Set<UserField> fields);
+
     Mono<User> getUserByEmail(String email);
 
     Mono<Boolean> existsByEmail(String email);
 
+    Mono<UserCredentials> getCredentialsByEmail(String email);
+
     Mono<Void> changePassword(UUID userId, String newPassword);
 
     Mono<Boolean> validateCurrentPassword(UUID userId, String currentPassword);
 
+    Mono<Void> upgradePasswordHash(UUID userId, String storedPassword, String rawPassword);
+
     Mono<Void> requestPasswordChange(UUID userId, PasswordChangeRequestDTO request);
 
     Mono<Void> approvePasswordChange(UUID userId, PasswordChangeApprovalDTO request);
@@ -55,7 +84,8 @@ public interface UserService {
 
     Mono<Void> registerFcmToken(String token, String userEmail);
 
-    Flux<Map<String, Object>> getAllPendingPasswordChangeRequests();
+    Flux<PendingPasswordChangeRequestView> getPendingPasswordChangeRequestsAfter(LocalDateTime afterCreatedAt,
+            UUID afterId, int limit);
 
     Flux<UserDevice> getUserDevices(UUID userId);
 
@@ -68,5 +98,5 @@ public interface UserService {
 
     Mono<Void> deleteAddress(UUID id);
 
-    <T> Mono<T> sendUserCreationNotification(User savedUser, String authorization);
+    <T> Mono<T> sendUserCreationNotification(User savedUser);
 }
\ No newline at end of file
@@ -2,10 +2,19 @@ package com.yash.usermanagement.service.impl;
 
 import com.yash.usermanagement.dto.LoginRequestDTO;
 import com.yash.usermanagement.dto.LoginResponseDTO;
+import com.yash.usermanagement.dto.RefreshTokenView;
+import com.yash.usermanagement.dto.UserCredentials;
 import com.yash.usermanagement.exception.AuthenticationException;
-import com.yash.usermanagement.model.User;
+import com.yash.usermanagement.model.RefreshToken;
+import com.yash.usermanagement.model.UserRole;
+import com.yash.usermanagement.repository.RefreshTokenRepository;
+import com.yash.usermanagement.security.PasswordHasher;
+import com.yash.usermanagement.security.TokenClaims;
+import com.yash.usermanagement.security.TokenRevocationStore;
 import com.yash.usermanagement.service.AuthenticationService;
 import com.yash.usermanagement.service.UserService;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
 import io.micronaut.security.authentication.Authentication;
 import io.micronaut.security.token.generator.TokenGenerator;
 import io.micronaut.security.token.jwt.generator.JwtTokenGenerator;
@@ -18,12 +27,21 @@ import reactor.core.publisher.Mono;
 import com.yash.usermanagement.aop.Loggable;
 import com.yash.usermanagement.aop.Auditable;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
 @Singleton
 public class AuthenticationServiceImpl implements AuthenticationService {
@@ -32,13 +50,26 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserService userService;
     private final TokenGenerator tokenGenerator;
     private final TokenValidator tokenValidator;
-    private final Map<String, Long> tokenBlacklist = new ConcurrentHashMap<>();
+    private final PasswordHasher passwordHasher;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final TokenRevocationStore revocationStore;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${micronaut.security.token.generator.access-token.expiration:3600}")
+    private long accessTokenExpirationSeconds;
+
+    @Value("${users.security.refresh-token.expiration:30d}")
+    private Duration refreshTokenExpiration;
 
     public AuthenticationServiceImpl(UserService userService, TokenGenerator tokenGenerator,
-            TokenValidator tokenValidator) {
+            TokenValidator tokenValidator, PasswordHasher passwordHasher, TokenRevocationStore revocationStore,
+            RefreshTokenRepository refreshTokenRepository) {
         this.userService = userService;
         this.tokenGenerator = tokenGenerator;
         this.tokenValidator = tokenValidator;
+        this.passwordHasher = passwordHasher;
+        this.revocationStore = revocationStore;
+        this.refreshTokenRepository = refreshTokenRepository;
     }
 
     @Override
@@ -46,37 +77,132 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Auditable
     public Mono<LoginResponseDTO> login(LoginRequestDTO loginRequest) {
         LOG.info("Attempting login for user: {}", loginRequest.getEmail());
-        return userService.getUserByEmail(loginRequest.getEmail())
-            .switchIfEmpty(Mono.error(new AuthenticationException("Invalid email or password")))
-            .flatMap(user -> userService.validateCurrentPassword(user.getId(), loginRequest.getPassword())
+        // One narrow query for the credential columns; the password is checked against that same row
+        return userService.getCredentialsByEmail(loginRequest.getEmail())
+            .flatMap(user -> passwordHasher.verify(loginRequest.getPassword(), user.getPassword())
                 .flatMap(isValid -> {
                     if (!isValid) {
                         return Mono.error(new AuthenticationException("Invalid email or password"));
                     }
-                    Map<String, Object> claims = new HashMap<>();
-                    claims.put("sub", user.getEmail());
-                    claims.put("userId", user.getId().toString());
-                    claims.put("email", user.getEmail());
-                    claims.put("roles", user.getRole().toString());
-                    claims.put("firstname", user.getFirstName());
-                    claims.put("lastname", user.getLastName());
-                    LOG.info("Generated token claims: {}", claims);
-                    Optional<String> tokenOpt = tokenGenerator.generateToken(claims);
-                    if (tokenOpt.isEmpty()) {
-                        return Mono.error(new AuthenticationException("Failed to generate authentication token"));
-                    }
-                    LoginResponseDTO response = new LoginResponseDTO();
-                    response.setAccessToken(tokenOpt.get());
-                    response.setTokenType("Bearer");
-                    response.setUserId(user.getId());
-                    response.setEmail(user.getEmail());
-                    response.setRole(user.getRole().toString());
-                    response.setFirstName(user.getFirstName());
-                    response.setLastName(user.getLastName());
                     LOG.info("Login successful for user: {} with role: {}", user.getEmail(), user.getRole());
-                    return Mono.just(response);
+                    // Every login starts a new refresh token family
+                    Mono<LoginResponseDTO> issued = issueTokens(user.getId(), user.getEmail(), user.getRole(),
+                        user.getFirstName(), user.getLastName(), UUID.randomUUID());
+                    if (!passwordHasher.needsRehash(user.getPassword())) {
+                        return issued;
+                    }
+                    // Plaintext or weaker hash; the raw password is only available here. The upgrade is a
+                    // second bcrypt run, so it happens once the tokens are out rather than before them
+                    return issued.doOnSuccess(response ->
+                        upgradePasswordHash(user.getId(), user.getPassword(), loginRequest.getPassword()));
                 })
-            );
+            )
+            // An unknown email costs the same bcrypt work as a wrong password, so timing does not tell them apart
+            .switchIfEmpty(Mono.defer(() -> passwordHasher.verifyMissing(loginRequest.getPassword())
+                .then(Mono.error(new AuthenticationException("Invalid email or password")))));
+    }
+
+    private void upgradePasswordHash(UUID userId, String storedPassword, String rawPassword) {
+        userService.upgradePasswordHash(userId, storedPassword, rawPassword)
+            .subscribe(ignored -> { }, e -> LOG.warn("Could not upgrade password hash for user {}: {}", userId,
+                e.getMessage()));
+    }
+
+    @Override
+    @Loggable
+    public Mono<LoginResponseDTO> refresh(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        // The token row and the claim columns come back in one query; no password check, no full user load
+        return refreshTokenRepository.findWithUserByTokenHash(hash(refreshToken))
+            .switchIfEmpty(Mono.error(new AuthenticationException("Invalid refresh token")))
+            .flatMap(token -> {
+                if (token.getRevokedAt() != null || token.getExpiresAt().isBefore(now)) {
+                    return Mono.error(new AuthenticationException("Refresh token has expired or was revoked"));
+                }
+                if (token.getRotatedAt() != null) {
+                    return reuseDetected(token);
+                }
+                // The successor is stored before the old token is retired, so a failed insert leaves the old
+                // one usable; if another request rotated it first, the family (successor included) is revoked
+                return issueTokens(token.getUserId(), token.getEmail(), token.getRole(), token.getFirstName(),
+                        token.getLastName(), token.getFamilyId())
+                    .flatMap(response -> refreshTokenRepository.markRotated(token.getId(), now)
+                        .flatMap(rotated -> rotated == 0 ? reuseDetected(token) : Mono.just(response)));
+            });
+    }
+
+    private Mono<LoginResponseDTO> reuseDetected(RefreshTokenView token) {
+        LOG.warn("Refresh token reuse for user {}, revoking session {}", token.getUserId(), token.getFamilyId());
+        return refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now())
+            .then(Mono.error(new AuthenticationException("Refresh token has already been used")));
+    }
+
+    private Mono<LoginResponseDTO> issueTokens(UUID userId, String email, UserRole role, String firstName,
+            String lastName, UUID sessionId) {
+        Map<String, Object> claims = new HashMap<>();
+        // jti identifies the token for revocation; exp bounds how long a revocation must be kept
+        long issuedAt = Instant.now().getEpochSecond();
+        claims.put(TokenClaims.JTI, UUID.randomUUID().toString());
+        claims.put(TokenClaims.ISSUED_AT, issuedAt);
+        claims.put(TokenClaims.EXPIRATION, issuedAt + accessTokenExpirationSeconds);
+        claims.put(TokenClaims.SESSION_ID, sessionId.toString());
+        claims.put("sub", email);
+        claims.put("userId", userId.toString());
+        claims.put("email", email);
+        claims.put("roles", role.toString());
+        claims.put("firstname", firstName);
+        claims.put("lastname", lastName);
+        LOG.info("Generated token claims: {}", claims);
+        Optional<String> tokenOpt = tokenGenerator.generateToken(claims);
+        if (tokenOpt.isEmpty()) {
+            return Mono.error(new AuthenticationException("Failed to generate authentication token"));
+        }
+
+        String refreshToken = newRefreshToken();
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken row = new RefreshToken();
+        row.setUserId(userId);
+        row.setFamilyId(sessionId);
+        row.setTokenHash(hash(refreshToken));
+        row.setCreatedAt(now);
+        row.setExpiresAt(now.plus(refreshTokenExpiration));
+        return refreshTokenRepository.save(row)
+            .map(saved -> {
+                LoginResponseDTO response = new LoginResponseDTO();
+                response.setAccessToken(tokenOpt.get());
+                response.setRefreshToken(refreshToken);
+                response.setTokenType("Bearer");
+                response.setUserId(userId);
+                response.setEmail(email);
+                response.setRole(role.toString());
+                response.setFirstName(firstName);
+                response.setLastName(lastName);
+                return response;
+            });
+    }
+
+    private static String newRefreshToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Refresh tokens are 256 random bits, so a fast unsalted hash is enough to make a leaked table useless
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelay = "${users.security.refresh-token.cleanup-interval:1h}")
+    void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now())
+            .subscribe(deleted -> LOG.info("Purged {} expired refresh tokens", deleted),
+                e -> LOG.warn("Could not purge expired refresh tokens: {}", e.getMessage()));
     }
 
     @Override
@@ -89,10 +215,20 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             .switchIfEmpty(Mono.error(new AuthenticationException("Invalid token")))
             .flatMap(authentication -> {
                 Authentication auth = (Authentication) authentication;
-                tokenBlacklist.put(token, System.currentTimeMillis());
+                String jti = TokenClaims.jti(auth);
+                if (jti != null) {
+                    revocationStore.revoke(jti, TokenClaims.expiresAt(auth));
+                } else {
+                    LOG.warn("Token without jti cannot be revoked; it was issued before revocation was supported");
+                }
                 clearSessionData(auth);
                 LOG.info("User logged out successfully");
-                return Mono.<Void>empty();
+                // Ends the session for good: its refresh tokens can no longer mint access tokens
+                String sessionId = TokenClaims.sessionId(auth);
+                if (sessionId == null) {
+                    return Mono.<Void>empty();
+                }
+                return refreshTokenRepository.revokeFamily(UUID.fromString(sessionId), LocalDateTime.now()).then();
             });
     }
 
@@ -102,8 +238,4 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             LOG.info("Cleared session data for user: {}", userId);
         }
     }
-
-    public boolean isTokenBlacklisted(String token) {
-        return tokenBlacklist.containsKey(token);
-    }
 }
\ No newline at end of file
@@ -5,94 +5,302 @@ import com.yash.usermanagement.model.*;
 import io.micronaut.context.annotation.Value;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import io.micronaut.http.client.HttpClient;
-import io.micronaut.http.client.annotation.Client;
 import io.micronaut.transaction.annotation.Transactional;
+import io.micronaut.transaction.reactive.ReactorReactiveTransactionOperations;
+import io.r2dbc.spi.Connection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.scheduling.TaskExecutors;
 
 import com.yash.usermanagement.exception.DatabaseException;
+import com.yash.usermanagement.exception.DuplicateResourceException;
 import com.yash.usermanagement.exception.ResourceNotFoundException;
 import com.yash.usermanagement.exception.ValidationException;
 import com.yash.usermanagement.exception.NotificationFailedException;
 import com.yash.usermanagement.repository.AddressRepository;
 import com.yash.usermanagement.repository.UserRepository;
 import com.yash.usermanagement.repository.PasswordChangeRequestRepository;
+import com.yash.usermanagement.repository.RefreshTokenRepository;
 import com.yash.usermanagement.repository.UserDeviceRepository;
+import com.yash.usermanagement.security.PasswordHasher;
 import com.yash.usermanagement.service.NotificationClientService;
+import com.yash.usermanagement.service.NotificationDispatchQueue;
+import com.yash.usermanagement.service.NotificationOutbox;
+import com.yash.usermanagement.service.UserCache;
+import com.yash.usermanagement.service.UserListCache;
 import com.yash.usermanagement.service.UserService;
 import com.yash.usermanagement.aop.Loggable;
 import com.yash.usermanagement.aop.Auditable;
 import com.yash.usermanagement.aop.Timed;
+import com.yash.usermanagement.dto.BulkCreateUserResult;
+import com.yash.usermanagement.dto.CreateUserRequest;
 import com.yash.usermanagement.dto.PasswordChangeApprovalDTO;
 import com.yash.usermanagement.dto.PasswordChangeRequestDTO;
+import com.yash.usermanagement.dto.PendingPasswordChangeRequestView;
+import com.yash.usermanagement.dto.UserCredentials;
+import com.yash.usermanagement.dto.UserField;
+import com.yash.usermanagement.dto.UserSummary;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
-import io.micronaut.cache.annotation.Cacheable;
-import io.micronaut.cache.annotation.CacheInvalidate;
+import reactor.core.scheduler.Schedulers;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Singleton
 public class UserServiceImpl implements UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
     private final PasswordChangeRequestRepository passwordChangeRequestRepository;
     private final UserDeviceRepository userDeviceRepository;
-    private final HttpClient httpClient;
+    private final UserCache userCache;
+    private final UserListCache userListCache;
+    private final PasswordHasher passwordHasher;
 
     @Value("${notification.service.url}")
     private String notificationServiceUrl;
 
+    @Value("${users.export.chunk-size:500}")
+    private int exportChunkSize;
+
+    @Value("${users.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Inject
+    private Validator validator;
+
     @Inject
     public UserServiceImpl(UserRepository userRepository, AddressRepository addressRepository,
             PasswordChangeRequestRepository passwordChangeRequestRepository, UserDeviceRepository userDeviceRepository,
-            @Client("http://localhost:8081") HttpClient httpClient) {
+            UserCache userCache, UserListCache userListCache, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.addressRepository = addressRepository;
         this.passwordChangeRequestRepository = passwordChangeRequestRepository;
         this.userDeviceRepository = userDeviceRepository;
-        this.httpClient = httpClient;
+        this.userCache = userCache;
+        this.userListCache = userListCache;
+        this.passwordHasher = passwordHasher;
     }
 
     @Inject
     private NotificationClientService notificationClientService;
 
+    @Inject
+    private NotificationOutbox notificationOutbox;
+
+    @Inject
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Inject
+    private NotificationDispatchQueue notificationDispatchQueue;
+
+    @Inject
+    private ReactorReactiveTransactionOperations<Connection> transactionOperations;
+
+    @Override
+    public Mono<User> createUserAndNotify(User user) {
+        // The welcome notification is queued in the same transaction and sent after the response. The
+        // transaction is opened here rather than with @Transactional so the list cache is only patched
+        // once it has committed; a rolled-back insert must not show up in /users
+        return Mono.from(transactionOperations.withTransaction(status -> insertUser(user)
+                        .flatMap(saved -> notificationOutbox
+                                .enqueue(notificationClientService.userCreation(saved))
+                                .thenReturn(saved))))
+                .doOnNext(userListCache::upsert);
+    }
+
     @Override
     @Loggable
     @Auditable
     @Timed
     @ExecuteOn(TaskExecutors.BLOCKING)
-    @CacheInvalidate(value = "users-all", all = true)
     public Mono<User> createUser(User user) {
-        return userRepository.findByEmail(user.getEmail())
-                .flatMap(existingUser -> Mono
-                        .<User>error(new DatabaseException("User with email " + user.getEmail() + " already exists")))
-                .switchIfEmpty(Mono.defer(() -> {
-                    if (user.getAddress() != null) {
-                        // Address logic should be made reactive if AddressRepository is reactive
-                        // For now, assume address is set directly
+        return insertUser(user).doOnNext(userListCache::upsert);
+    }
+
+    private Mono<User> insertUser(User user) {
+        return withHashedPassword(user).flatMap(this::insertHashedUser);
+    }
+
+    private Mono<User> insertHashedUser(User user) {
+        // One INSERT ... ON CONFLICT (email) DO NOTHING instead of a lookup followed by an insert; the unique
+        // constraint also settles concurrent creates with the same email
+        UUID id = user.getId() != null ? user.getId() : UUID.randomUUID();
+        return userRepository.insertIfEmailAbsent(id, user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getPassword(), enumName(user.getGender()), user.getDateOfBirth(), user.getPhoneNumber(),
+                enumName(user.getRole()), user.getAddress() != null ? user.getAddress().getId() : null)
+                .flatMap(inserted -> {
+                    if (inserted == 0) {
+                        return Mono.<User>error(new DuplicateResourceException(
+                                "User with email " + user.getEmail() + " already exists"));
                     }
-                    return userRepository.save(user);
-                }));
+                    user.setId(id);
+                    return Mono.just(user);
+                });
+    }
+
+    private Mono<User> withHashedPassword(User user) {
+        if (user.getPassword() == null) {
+            return Mono.just(user);
+        }
+        return passwordHasher.hash(user.getPassword())
+                .map(hash -> {
+                    user.setPassword(hash);
+                    return user;
+                });
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    @Override
+    public Flux<BulkCreateUserResult> bulkCreateUsers(Flux<CreateUserRequest> requests) {
+        // Notifications are deliberately not sent per user here; a bulk import would otherwise issue
+        // one HTTP call for every row
+        return requests.index()
+                .flatMapSequential(item -> Mono.fromCallable(() -> validateBulkItem(item.getT1(), item.getT2()))
+                        .subscribeOn(Schedulers.parallel()))
+                .buffer(bulkChunkSize)
+                .concatMap(this::createBulkChunk);
+    }
+
+    private BulkItem validateBulkItem(long index, CreateUserRequest request) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return new BulkItem(index, request.getEmail(), null, message);
+        }
+        return new BulkItem(index, request.getEmail(), toUser(request), null);
+    }
+
+    private Flux<BulkCreateUserResult> createBulkChunk(List<BulkItem> chunk) {
+        List<String> emails = chunk.stream().filter(BulkItem::isValid).map(item -> item.email).toList();
+        Mono<Set<String>> existingEmails = emails.isEmpty()
+                ? Mono.just(Set.of())
+                : userRepository.findEmailByEmailIn(emails).collect(Collectors.toSet());
+        return existingEmails.flatMapMany(taken -> {
+            List<BulkCreateUserResult> rejected = new ArrayList<>();
+            List<BulkItem> toInsert = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (BulkItem item : chunk) {
+                if (!item.isValid()) {
+                    rejected.add(item.result(BulkCreateUserResult.Status.INVALID, null, item.error));
+                } else if (taken.contains(item.email) || !seen.add(item.email)) {
+                    rejected.add(item.result(BulkCreateUserResult.Status.DUPLICATE, null,
+                            "User with email " + item.email + " already exists"));
+                } else {
+                    toInsert.add(item);
+                }
+            }
+            return insertBulkItems(toInsert)
+                    .concatWith(Flux.fromIterable(rejected))
+                    .sort(Comparator.comparingLong(BulkCreateUserResult::getIndex));
+        });
+    }
+
+    private Flux<BulkCreateUserResult> insertBulkItems(List<BulkItem> items) {
+        if (items.isEmpty()) {
+            return Flux.empty();
+        }
+        List<User> users = items.stream().map(item -> item.user).toList();
+        // Hash only rows that survived validation and dedupe, never more at once than the hasher has threads
+        return Flux.fromIterable(users)
+                .flatMap(this::withHashedPassword, passwordHasher.parallelism())
+                .thenMany(Flux.defer(() -> saveBulkItems(items, users)));
+    }
+
+    private Flux<BulkCreateUserResult> saveBulkItems(List<BulkItem> items, List<User> users) {
+        // The chunk commits or rolls back as a whole, so the row-by-row retry below never meets rows the
+        // failed batch already wrote
+        return Mono.from(transactionOperations.withTransaction(status -> userRepository.saveAll(users).collectList()))
+                .doOnNext(userListCache::upsertAll)
+                .flatMapMany(saved -> Flux.range(0, saved.size())
+                        .map(i -> items.get(i).result(BulkCreateUserResult.Status.CREATED, saved.get(i).getId(), null)))
+                // One bad row fails the whole batch statement, so retry row by row to isolate it
+                .onErrorResume(e -> {
+                    LOG.warn("Batch insert of {} users failed, retrying one by one: {}", items.size(), e.getMessage());
+                    return Flux.fromIterable(items).concatMap(this::insertBulkItem);
+                });
+    }
+
+    private Mono<BulkCreateUserResult> insertBulkItem(BulkItem item) {
+        // The ids the rolled-back batch assigned were never stored
+        item.user.setId(null);
+        return insertHashedUser(item.user)
+                .doOnNext(userListCache::upsert)
+                .map(saved -> item.result(BulkCreateUserResult.Status.CREATED, saved.getId(), null))
+                // Created by someone else since the chunk checked for existing emails
+                .onErrorResume(DuplicateResourceException.class, e -> Mono.just(
+                        item.result(BulkCreateUserResult.Status.DUPLICATE, null, e.getMessage())))
+                .onErrorResume(e -> {
+                    LOG.error("Could not create user {} of a bulk request", item.index, e);
+                    return Mono.just(item.result(BulkCreateUserResult.Status.FAILED, null, "Could not create user"));
+                });
+    }
+
+    private User toUser(CreateUserRequest request) {
+        User user = new User();
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setEmail(request.getEmail());
+        user.setPassword(request.getPassword());
+        user.setDateOfBirth(request.getDateOfBirth());
+        user.setPhoneNumber(request.getPhoneNumber());
+        user.setGender(request.getGender());
+        user.setRole(request.getRole());
+        user.setAddress(request.getAddress());
+        return user;
+    }
+
+    private static final class BulkItem {
+        private final long index;
+        private final String email;
+        private final User user;
+        private final String error;
+
+        private BulkItem(long index, String email, User user, String error) {
+            this.index = index;
+            this.email = email;
+            this.user = user;
+            this.error = error;
+        }
+
+        private boolean isValid() {
+            return error == null;
+        }
+
+        private BulkCreateUserResult result(BulkCreateUserResult.Status status, UUID id, String message) {
+            return new BulkCreateUserResult(index, email, id, status, message);
+        }
     }
 
     @Override
-    public Mono<Void> sendUserCreationNotification(User user, String authorization) {
-        return notificationClientService.sendUserCreationNotification(user, authorization)
+    public Mono<Void> sendUserCreationNotification(User user) {
+        return notificationClientService.sendUserCreationNotification(user)
                 .onErrorResume(e -> {
                     LOG.error("Notification failed for user creation: {}", e.getMessage(), e);
                     return Mono.error(
@@ -102,49 +310,100 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Mono<User> getUserById(UUID id) {
-        return userRepository.findById(id)
+        return userCache.getById(id, () -> userRepository.findById(id))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with id: " + id)));
     }
 
     @Override
-    @CacheInvalidate(value = "users-all", all = true)
-    public Mono<User> updateUser(UUID id, User userDetails) {
-        return getUserById(id).flatMap(existingUser -> {
-            // Address logic should be made reactive if AddressRepository is reactive
-            existingUser.setFirstName(userDetails.getFirstName());
-            existingUser.setLastName(userDetails.getLastName());
-            existingUser.setEmail(userDetails.getEmail());
-            existingUser.setGender(userDetails.getGender());
-            existingUser.setDateOfBirth(userDetails.getDateOfBirth());
-            existingUser.setPhoneNumber(userDetails.getPhoneNumber());
-            existingUser.setRole(userDetails.getRole());
-            return userRepository.update(existingUser);
+    public Mono<User> getUserById(UUID id, Set<UserField> fields) {
+        if (fields.contains(UserField.ADDRESS)) {
+            return getUserById(id);
+        }
+        // A cached full row is cheaper than any narrow query
+        Optional<User> cached = userCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        Mono<User> user = UserField.SUMMARY.containsAll(fields)
+                ? userRepository.findSummaryById(id).map(this::fromSummary)
+                : userRepository.queryById(id);
+        return user.switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with id: " + id)));
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Collection<UUID> ids) {
+        return Flux.defer(() -> {
+            List<User> cached = new ArrayList<>();
+            List<UUID> misses = new ArrayList<>();
+            for (UUID id : new LinkedHashSet<>(ids)) {
+                userCache.getIfPresent(id).ifPresentOrElse(cached::add, () -> misses.add(id));
+            }
+            if (misses.isEmpty()) {
+                return Flux.fromIterable(cached);
+            }
+            long stamp = userCache.stamp();
+            return Flux.concat(Flux.fromIterable(cached),
+                    userRepository.findByIdIn(misses).doOnNext(user -> userCache.put(user, stamp)));
         });
     }
 
     @Override
-    @CacheInvalidate(value = "users-all", all = true)
-    public Mono<Void> deleteUser(UUID id, String authorization) {
+    public Mono<User> updateUser(UUID id, User userDetails) {
+        // Load a fresh copy rather than the cached instance, which is shared with concurrent readers
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with id: " + id)))
+                .flatMap(existingUser -> {
+                    // Address logic should be made reactive if AddressRepository is reactive
+                    existingUser.setFirstName(userDetails.getFirstName());
+                    existingUser.setLastName(userDetails.getLastName());
+                    existingUser.setEmail(userDetails.getEmail());
+                    existingUser.setGender(userDetails.getGender());
+                    existingUser.setDateOfBirth(userDetails.getDateOfBirth());
+                    existingUser.setPhoneNumber(userDetails.getPhoneNumber());
+                    existingUser.setRole(userDetails.getRole());
+                    return userRepository.update(existingUser);
+                })
+                .doOnSuccess(updated -> {
+                    userCache.evict(id);
+                    userListCache.upsert(updated);
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(UUID id) {
         return getUserById(id)
-                // .flatMap(user ->
-                // notificationClientService.sendAccountDeletionNotification(user.getId(),
-                // user.getEmail(), authorization)
-                // .onErrorResume(e -> {
-                // LOG.error("Notification failed for user deletion: {}", e.getMessage(), e);
-                // // Continue with deletion even if notification fails
-                // return Mono.empty();
-                // })
-                // .then(userRepository.deleteById(user.getId()).then())
-                // )
-                .flatMap(user -> userRepository.deleteById(user.getId()).then());
+                // Best effort: the deletion stands even if the notification is dropped or fails
+                .flatMap(user -> userRepository.deleteById(user.getId())
+                        .doOnSuccess(deleted -> notificationDispatchQueue.offer(notificationClientService
+                                .accountDeletion(user.getId(), user.getEmail()))))
+                .then()
+                .doOnSuccess(v -> {
+                    userCache.evict(id);
+                    userListCache.remove(id);
+                });
     }
 
     @Override
     public Mono<User> findByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userCache.getByEmail(email, () -> userRepository.findByEmail(email))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with email: " + email)));
     }
 
+    @Override
+    public Mono<User> findByEmail(String email, Set<UserField> fields) {
+        if (fields.contains(UserField.ADDRESS)) {
+            return findByEmail(email);
+        }
+        Optional<User> cached = userCache.getIfPresentByEmail(email);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        Mono<User> user = UserField.SUMMARY.containsAll(fields)
+                ? userRepository.findSummaryByEmail(email).map(this::fromSummary)
+                : userRepository.queryByEmail(email);
+        return user.switchIfEmpty(Mono.error(new ResourceNotFoundException("User not found with email: " + email)));
+    }
+
     @Override
     public Mono<User> getUserByEmail(String email) {
         return findByEmail(email);
@@ -156,17 +415,39 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
+    public Mono<UserCredentials> getCredentialsByEmail(String email) {
+        return userRepository.findCredentialsByEmail(email);
+    }
+
+    @Override
     @ExecuteOn(TaskExecutors.BLOCKING)
     public Mono<Void> changePassword(UUID userId, String newPassword) {
+        // Caches are only touched once the transaction has committed: evicting inside it would let a read
+        // between the eviction and the commit cache the old password again
+        return Mono.from(transactionOperations.withTransaction(
+                        status -> updatePassword(userId, passwordHasher.hash(newPassword))))
+                .doOnNext(this::passwordChanged)
+                .then();
+    }
+
+    private Mono<User> updatePassword(UUID userId, Mono<String> passwordHash) {
         return userRepository.findById(userId)
-                .flatMap(user -> {
-                    user.setPassword(newPassword);
+                .zipWith(passwordHash)
+                .flatMap(userAndHash -> {
+                    User user = userAndHash.getT1();
+                    user.setPassword(userAndHash.getT2());
                     return userRepository.update(user)
-                            .flatMap(u -> notificationClientService.sendPasswordResetApprovalNotification(user.getId(),
-                                    user.getEmail()));
-                })
-                .then();
+                            // Refresh tokens issued under the old password must not outlive it
+                            .flatMap(u -> refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now()))
+                            .flatMap(revoked -> notificationOutbox.enqueue(notificationClientService
+                                    .passwordResetApproval(user.getId(), user.getEmail())))
+                            .thenReturn(user);
+                });
+    }
+
+    private void passwordChanged(User user) {
+        userCache.evict(user.getId());
+        userListCache.upsert(user);
     }
 
     @Override
@@ -184,23 +465,31 @@ public class UserServiceImpl implements UserService {
                                         if (!isValid) {
                                             return Mono.error(new ValidationException("Current password is incorrect"));
                                         }
-                                        PasswordChangeRequest passwordChangeRequest = new PasswordChangeRequest();
-                                        passwordChangeRequest.setUserId(id);
-                                        passwordChangeRequest.setNewPassword(request.getNewPassword());
-                                        passwordChangeRequest.setStatus(PasswordChangeStatus.PENDING);
-                                        passwordChangeRequest.setCreatedAt(LocalDateTime.now());
-                                        return passwordChangeRequestRepository.save(passwordChangeRequest)
-                                                .doOnSuccess(pcr -> notificationClientService
-                                                        .sendPasswordResetRequestNotification(user.getId(),
-                                                                user.getEmail()))
-                                                .then();
+                                        // Only the hash is kept while the request waits for an admin
+                                        return passwordHasher.hash(request.getNewPassword()).flatMap(hash -> {
+                                            PasswordChangeRequest passwordChangeRequest = new PasswordChangeRequest();
+                                            passwordChangeRequest.setUserId(id);
+                                            passwordChangeRequest.setNewPassword(hash);
+                                            passwordChangeRequest.setStatus(PasswordChangeStatus.PENDING);
+                                            passwordChangeRequest.setCreatedAt(LocalDateTime.now());
+                                            return passwordChangeRequestRepository.save(passwordChangeRequest)
+                                                    .flatMap(pcr -> notificationOutbox.enqueue(notificationClientService
+                                                            .passwordResetRequest(user.getId(), user.getEmail())));
+                                        });
                                     });
                         }));
     }
 
     @Override
-    @Transactional
     public Mono<Void> approvePasswordChange(UUID id, PasswordChangeApprovalDTO request) {
+        // Like changePassword, the transaction is opened here so the caches are updated after it commits
+        return Mono.from(transactionOperations.withTransaction(status -> decidePasswordChange(id, request)))
+                .doOnNext(this::passwordChanged)
+                .then();
+    }
+
+    // Emits the user whose password was changed, or nothing if the request was rejected
+    private Mono<User> decidePasswordChange(UUID id, PasswordChangeApprovalDTO request) {
         return getUserById(request.getAdminId())
                 .flatMap(admin -> {
                     if (admin.getRole() != UserRole.ADMIN) {
@@ -211,18 +500,18 @@ public class UserServiceImpl implements UserService {
                                     .findByUserIdAndStatus(id, PasswordChangeStatus.PENDING)
                                     .flatMap(passwordChangeRequest -> {
                                         if (request.isApproved()) {
-                                            return changePassword(id, passwordChangeRequest.getNewPassword())
-                                                    .then(Mono.defer(() -> {
+                                            return updatePassword(id, pendingPasswordHash(passwordChangeRequest))
+                                                    .flatMap(changed -> {
                                                         passwordChangeRequest.setStatus(PasswordChangeStatus.APPROVED);
                                                         passwordChangeRequest.setAdminId(request.getAdminId());
                                                         passwordChangeRequest.setUpdatedAt(LocalDateTime.now());
                                                         return passwordChangeRequestRepository
                                                                 .update(passwordChangeRequest)
-                                                                .flatMap(pcr -> notificationClientService
-                                                                        .sendPasswordResetApprovalNotification(
-                                                                                user.getId(), user.getEmail()))
-                                                                .then();
-                                                    }));
+                                                                .flatMap(pcr -> notificationOutbox.enqueue(
+                                                                        notificationClientService.passwordResetApproval(
+                                                                                user.getId(), user.getEmail())))
+                                                                .thenReturn(changed);
+                                                    });
                                         } else {
                                             return rejectPasswordChange(id, request.getAdminId())
                                                     .then(Mono.defer(() -> {
@@ -231,17 +520,24 @@ public class UserServiceImpl implements UserService {
                                                         passwordChangeRequest.setUpdatedAt(LocalDateTime.now());
                                                         return passwordChangeRequestRepository
                                                                 .update(passwordChangeRequest)
-                                                                .flatMap(pcr -> notificationClientService
-                                                                        .sendPasswordChangeRejectionNotification(
-                                                                                user.getId(), user.getEmail()))
-                                                                .then();
+                                                                .flatMap(pcr -> notificationOutbox.enqueue(
+                                                                        notificationClientService.passwordChangeRejection(
+                                                                                user.getId(), user.getEmail())))
+                                                                .then(Mono.<User>empty());
                                                     }));
                                         }
                                     }));
                 });
     }
 
+    // Requests made before passwords were hashed on request still hold the plaintext
+    private Mono<String> pendingPasswordHash(PasswordChangeRequest request) {
+        String stored = request.getNewPassword();
+        return passwordHasher.isHash(stored) ? Mono.just(stored) : passwordHasher.hash(stored);
+    }
+
     @Override
+    @Transactional
     @ExecuteOn(TaskExecutors.BLOCKING)
     public Mono<Void> rejectPasswordChange(UUID userId, UUID adminId) {
         return getUserById(userId)
@@ -257,9 +553,8 @@ public class UserServiceImpl implements UserService {
                                         request.setAdminId(adminId);
                                         request.setUpdatedAt(LocalDateTime.now());
                                         return passwordChangeRequestRepository.update(request)
-                                                .flatMap(pcr -> notificationClientService
-                                                        .sendPasswordChangeRejectionNotification(user.getId(),
-                                                                user.getEmail()))
+                                                .flatMap(pcr -> notificationOutbox.enqueue(notificationClientService
+                                                        .passwordChangeRejection(user.getId(), user.getEmail())))
                                                 .then();
                                     });
                         }));
@@ -271,24 +566,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Flux<Map<String, Object>> getAllPendingPasswordChangeRequests() {
-        return passwordChangeRequestRepository.findByStatus(PasswordChangeStatus.PENDING)
-                .flatMap(request -> getUserById(request.getUserId())
-                        .map(user -> {
-                            Map<String, Object> map = new HashMap<>();
-                            map.put("id", request.getId());
-                            map.put("userId", request.getUserId());
-                            map.put("newPassword", request.getNewPassword());
-                            map.put("status", request.getStatus());
-                            map.put("adminId", request.getAdminId());
-                            map.put("createdAt", request.getCreatedAt());
-                            map.put("updatedAt", request.getUpdatedAt());
-                            map.put("userFirstName", user.getFirstName());
-                            map.put("userLastName", user.getLastName());
-                            map.put("userEmail", user.getEmail());
-                            return map;
-                        })
-                        .onErrorResume(e -> Mono.just(new HashMap<>())));
+    public Flux<PendingPasswordChangeRequestView> getPendingPasswordChangeRequestsAfter(LocalDateTime afterCreatedAt,
+            UUID afterId, int limit) {
+        // One joined query per page instead of a user lookup per request
+        String status = PasswordChangeStatus.PENDING.name();
+        if (afterCreatedAt == null || afterId == null) {
+            return passwordChangeRequestRepository.findWithUserByStatus(status, limit);
+        }
+        return passwordChangeRequestRepository.findWithUserByStatusAfter(status, afterCreatedAt, afterId, limit);
     }
 
     @Override
@@ -304,8 +589,20 @@ public class UserServiceImpl implements UserService {
     @Override
     public Mono<Boolean> validateCurrentPassword(UUID userId, String currentPassword) {
         return getUserById(userId)
-                .map(user -> currentPassword.equals(user.getPassword())); // Replace with proper password hashing in
-                                                                          // production
+                .flatMap(user -> passwordHasher.verify(currentPassword, user.getPassword()));
+    }
+
+    @Override
+    public Mono<Void> upgradePasswordHash(UUID userId, String storedPassword, String rawPassword) {
+        // Conditional on the old value so a password changed in the meantime is never overwritten
+        return passwordHasher.hash(rawPassword)
+                .flatMap(hash -> userRepository.updatePasswordIfUnchanged(userId, storedPassword, hash))
+                .doOnNext(updated -> {
+                    if (updated > 0) {
+                        userCache.evict(userId);
+                    }
+                })
+                .then();
     }
 
     @Override
@@ -344,10 +641,55 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Cacheable("users-all")
     public Mono<List<User>> getAllUsers() {
-        LOG.info("Fetching users from DB...");
-        return userRepository.findAll().collectList();
+        return userListCache.get(() -> {
+            LOG.info("Fetching users from DB...");
+            return userRepository.findAll().collectList();
+        });
+    }
+
+    @Override
+    public Flux<User> getUsersAfter(UUID afterId, int limit) {
+        Pageable pageable = Pageable.from(0, limit, Sort.of(Sort.Order.asc("id")));
+        if (afterId == null) {
+            return userRepository.findAll(pageable);
+        }
+        return userRepository.findByIdGreaterThan(afterId, pageable);
+    }
+
+    @Override
+    public Flux<User> getUsersAfter(UUID afterId, int limit, Set<UserField> fields) {
+        if (fields.contains(UserField.ADDRESS)) {
+            return getUsersAfter(afterId, limit);
+        }
+        // The nil UUID sorts before every other value, so it stands in for "from the start"
+        UUID after = afterId == null ? NIL_UUID : afterId;
+        if (UserField.SUMMARY.containsAll(fields)) {
+            return userRepository.findSummariesAfter(after, limit).map(this::fromSummary);
+        }
+        return userRepository.queryByIdGreaterThan(after, Pageable.from(0, limit, Sort.of(Sort.Order.asc("id"))));
+    }
+
+    private User fromSummary(UserSummary summary) {
+        User user = new User();
+        user.setId(summary.getId());
+        user.setFirstName(summary.getFirstName());
+        user.setLastName(summary.getLastName());
+        user.setEmail(summary.getEmail());
+        user.setRole(summary.getRole());
+        return user;
+    }
+
+    @Override
+    public Flux<User> streamAllUsers() {
+        // Walk the table in keyset chunks. The flattener asks for one chunk at a time and only asks again once
+        // the current one has been drained, so at most the chunk being written and the one behind it are held
+        // in memory regardless of table size; the default prefetch of 32 would run ahead by that many queries
+        return getUsersAfter(null, exportChunkSize).collectList()
+                .expandDeep(chunk -> chunk.size() < exportChunkSize
+                        ? Mono.empty()
+                        : getUsersAfter(chunk.get(chunk.size() - 1).getId(), exportChunkSize).collectList())
+                .concatMapIterable(chunk -> chunk, 1);
     }
 
     // Address management methods (moved from AddressServiceImpl)
@@ -382,7 +724,13 @@ public class UserServiceImpl implements UserService {
                 .flatMap(existingAddress -> {
                     address.setId(id);
                     return addressRepository.update(address)
-                            .doOnSuccess(updatedAddress -> LOG.info("Address updated successfully with ID: {}", id));
+                            .doOnSuccess(updatedAddress -> {
+                                userCache.evictByAddressId(id);
+                                if (updatedAddress != null) {
+                                    userListCache.updateAddress(updatedAddress);
+                                }
+                                LOG.info("Address updated successfully with ID: {}", id);
+                            });
                 })
                 .onErrorMap(e -> {
                     LOG.error("Error updating address with ID {}: {}", id, e.getMessage(), e);
@@ -397,7 +745,11 @@ public class UserServiceImpl implements UserService {
                 .flatMap(exists -> {
                     if (exists) {
                         return addressRepository.deleteById(id)
-                                .doOnSuccess(v -> LOG.info("Address deleted successfully with ID: {}", id))
+                                .doOnSuccess(v -> {
+                                    userCache.evictByAddressId(id);
+                                    userListCache.removeAddress(id);
+                                    LOG.info("Address deleted successfully with ID: {}", id);
+                                })
                                 .then();
                     } else {
                         LOG.warn("Address not found with ID: {}", id);
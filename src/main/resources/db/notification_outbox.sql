@@ -0,0 +1,15 @@
+-- Notifications queued in the same transaction as the change they announce, delivered by
+-- NotificationOutboxDispatcher. Rows are deleted once sent; next_attempt_at is NULL once retries ran out.
+-- No caller credentials are stored: the dispatcher authenticates with the service credential.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id                    UUID PRIMARY KEY,
+    path                  VARCHAR(255) NOT NULL,
+    payload               TEXT         NOT NULL,
+    attempts              INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at       TIMESTAMP,
+    last_error            TEXT,
+    created_at            TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_due ON notification_outbox (next_attempt_at)
+    WHERE next_attempt_at IS NOT NULL;
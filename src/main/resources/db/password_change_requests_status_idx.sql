@@ -0,0 +1,4 @@
+-- Backs the keyset pages of PasswordChangeRequestRepository.findWithUserByStatus(After): the status filter,
+-- the (created_at, id) ordering and the row-value cursor comparison are all answered from this index.
+CREATE INDEX IF NOT EXISTS idx_password_change_requests_status_created_at
+    ON password_change_requests (status, created_at, id);
@@ -0,0 +1,9 @@
+-- Revoked access token ids shared between instances; RevocationBroadcaster reads it to catch up after
+-- (re)connecting its LISTEN connection and deletes rows once their tokens have expired.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti         VARCHAR(64) PRIMARY KEY,
+    -- epoch seconds, as in the token's exp claim
+    expires_at  BIGINT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
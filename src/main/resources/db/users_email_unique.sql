@@ -0,0 +1,32 @@
+-- Required before deploying: UserRepository.insertIfEmailAbsent uses INSERT ... ON CONFLICT (email), which
+-- Postgres rejects unless users(email) has a unique index. Nothing is changed if duplicates exist; the
+-- script lists them and stops so they can be resolved by hand. Run outside a transaction (CONCURRENTLY
+-- requires it) and stop on the first error:
+--
+--   psql -v ON_ERROR_STOP=1 -f src/main/resources/db/users_email_unique.sql
+--
+-- If the index build itself fails (a duplicate inserted meanwhile), Postgres leaves an INVALID
+-- ux_users_email behind: DROP INDEX CONCURRENTLY ux_users_email, resolve the duplicate and run this again.
+DO $$
+DECLARE
+    duplicate RECORD;
+    duplicates INTEGER := 0;
+BEGIN
+    FOR duplicate IN
+        SELECT email, count(*) AS accounts, string_agg(id::text, ', ' ORDER BY id) AS ids
+        FROM users
+        GROUP BY email
+        HAVING count(*) > 1
+        ORDER BY email
+    LOOP
+        RAISE WARNING 'email % is shared by % users: %', duplicate.email, duplicate.accounts, duplicate.ids;
+        duplicates := duplicates + 1;
+    END LOOP;
+    IF duplicates > 0 THEN
+        RAISE EXCEPTION '% emails belong to more than one user; resolve them before creating ux_users_email',
+            duplicates;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_users_email ON users (email);
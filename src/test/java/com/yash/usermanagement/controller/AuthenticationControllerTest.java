@@ -2,12 +2,17 @@ package com.yash.usermanagement.controller;
 
 import com.yash.usermanagement.dto.LoginRequestDTO;
 import com.yash.usermanagement.dto.LoginResponseDTO;
+import com.yash.usermanagement.dto.RefreshTokenRequest;
 import com.yash.usermanagement.dto.FcmRegistrationRequest;
+import com.yash.usermanagement.exception.AuthenticationException;
+import com.yash.usermanagement.exception.TooManyRequestsException;
 import com.yash.usermanagement.service.AuthenticationService;
 import com.yash.usermanagement.service.UserService;
 import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.annotation.MockBean;
 import jakarta.inject.Inject;
@@ -34,6 +39,13 @@ class AuthenticationControllerTest {
         return Mockito.mock(AuthenticationService.class);
     }
 
+    @MockBean(HttpClientAddressResolver.class)
+    HttpClientAddressResolver clientAddressResolverMock() {
+        HttpClientAddressResolver resolver = Mockito.mock(HttpClientAddressResolver.class);
+        Mockito.when(resolver.resolve(Mockito.any())).thenReturn("203.0.113.5");
+        return resolver;
+    }
+
     @MockBean(UserService.class)
     UserService userServiceMock() {
         return Mockito.mock(UserService.class);
@@ -46,7 +58,42 @@ class AuthenticationControllerTest {
         loginRequest.setPassword("ValidPass123!");
         LoginResponseDTO resp = new LoginResponseDTO();
         Mockito.when(authenticationService.login(Mockito.any(LoginRequestDTO.class))).thenReturn(Mono.just(resp));
-        Mono<HttpResponse<LoginResponseDTO>> response = authenticationController.login(loginRequest);
+        Mono<HttpResponse<LoginResponseDTO>> response = authenticationController.login(loginRequest,
+                HttpRequest.POST("/api/auth/login", loginRequest));
+        assertEquals(HttpStatus.OK, response.block().getStatus());
+    }
+
+    @Test
+    void testLoginBurstForOneAccountIsShedBeforeAuthentication() {
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("stuffed@example.com");
+        loginRequest.setPassword("WrongPass123!");
+        Mockito.when(authenticationService.login(Mockito.any(LoginRequestDTO.class)))
+                .thenReturn(Mono.error(new AuthenticationException("Invalid email or password")));
+        int rejected = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                authenticationController.login(loginRequest, HttpRequest.POST("/api/auth/login", loginRequest))
+                        .block();
+            } catch (TooManyRequestsException e) {
+                rejected++;
+            } catch (AuthenticationException e) {
+                // admitted and failed as a bad password
+            }
+        }
+        // The default email bucket lets a burst of 5 through
+        assertEquals(5, rejected);
+        Mockito.verify(authenticationService, Mockito.times(5))
+                .login(Mockito.argThat(req -> "stuffed@example.com".equals(req.getEmail())));
+    }
+
+    @Test
+    void testRefresh() {
+        RefreshTokenRequest refreshRequest = new RefreshTokenRequest();
+        refreshRequest.setRefreshToken("refresh-token");
+        LoginResponseDTO resp = new LoginResponseDTO();
+        Mockito.when(authenticationService.refresh("refresh-token")).thenReturn(Mono.just(resp));
+        Mono<HttpResponse<LoginResponseDTO>> response = authenticationController.refresh(refreshRequest);
         assertEquals(HttpStatus.OK, response.block().getStatus());
     }
 
@@ -0,0 +1,41 @@
+package com.yash.usermanagement.controller;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.yash.usermanagement.security.JwtKeyRing;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksControllerTest {
+
+    private final JwtKeyRing keyRing = new JwtKeyRing(JWSAlgorithm.ES256.getName(), "", 3600);
+
+    @Test
+    void testServesKeysWithCachingHeaders() {
+        JwksController controller = new JwksController(keyRing, Duration.ofHours(1), Duration.ofHours(24));
+        HttpResponse<String> response = controller.keys(null);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(keyRing.published().json(), response.body());
+        assertEquals(keyRing.published().etag(), response.getHeaders().get(HttpHeaders.ETAG));
+        assertEquals("public, max-age=3600", response.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testNotModifiedWhenEtagMatches() {
+        JwksController controller = new JwksController(keyRing, Duration.ofHours(1), Duration.ofHours(24));
+        HttpResponse<String> response = controller.keys(keyRing.published().etag());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatus());
+        assertNull(response.body());
+    }
+
+    @Test
+    void testMaxAgeNeverOutlivesTheNextKeyLeadTime() {
+        JwksController controller = new JwksController(keyRing, Duration.ofDays(7), Duration.ofHours(6));
+        assertEquals("public, max-age=21600", controller.keys(null).getHeaders().get(HttpHeaders.CACHE_CONTROL));
+    }
+}
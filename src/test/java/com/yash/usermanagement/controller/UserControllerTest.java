@@ -50,11 +50,13 @@ class UserControllerTest {
         req.setPhoneNumber("9876543210");
         User user = new User();
         user.setId(UUID.randomUUID());
-        Mockito.when(userService.createUser(Mockito.any(User.class))).thenReturn(Mono.just(user));
-        Mockito.when(userService.sendUserCreationNotification(Mockito.any(User.class), Mockito.anyString()))
-                .thenReturn(Mono.just("Notification sent"));
-        Mono<HttpResponse<UserCreationResponse>> response = userController.createUser(req, "Bearer token");
+        Mockito.when(userService.createUserAndNotify(Mockito.any(User.class)))
+                .thenReturn(Mono.just(user));
+        Mono<HttpResponse<UserCreationResponse>> response = userController.createUser(req);
         assertEquals(HttpStatus.CREATED, response.block().getStatus());
+        // The notification is queued with the user, not sent on the response path
+        Mockito.verify(userService, Mockito.never())
+                .sendUserCreationNotification(Mockito.any(User.class));
     }
 
     @Test
@@ -62,8 +64,8 @@ class UserControllerTest {
         UUID id = UUID.randomUUID();
         User user = new User();
         user.setId(id);
-        Mockito.when(userService.getUserById(id)).thenReturn(Mono.just(user));
-        Mono<HttpResponse<UserResponse>> response = userController.getUserById(id);
+        Mockito.when(userService.getUserById(id, UserField.ALL)).thenReturn(Mono.just(user));
+        Mono<HttpResponse<UserResponse>> response = userController.getUserById(id, null);
         assertEquals(HttpStatus.OK, response.block().getStatus());
     }
 
@@ -88,9 +90,8 @@ class UserControllerTest {
     @Test
     void testDeleteUser() {
         UUID id = UUID.randomUUID();
-        Mockito.when(userService.deleteUser(Mockito.eq(id), Mockito.anyString())).thenReturn(Mono.empty());
-        Mono<io.micronaut.http.MutableHttpResponse<Map<String, Object>>> response = userController.deleteUser(id,
-                "Bearer token");
+        Mockito.when(userService.deleteUser(id)).thenReturn(Mono.empty());
+        Mono<io.micronaut.http.MutableHttpResponse<Map<String, Object>>> response = userController.deleteUser(id);
         assertEquals(HttpStatus.OK, response.block().getStatus());
         assertTrue((Boolean) response.block().body().get("success"));
     }
@@ -123,4 +124,52 @@ class UserControllerTest {
         Mono<HttpResponse<Void>> response = userController.requestPasswordChange(id, req);
         assertEquals(HttpStatus.ACCEPTED, response.block().getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUsersPageReturnsCursorWhenMoreRowsExist() {
+        User first = new User();
+        first.setId(UUID.randomUUID());
+        User second = new User();
+        second.setId(UUID.randomUUID());
+        User third = new User();
+        third.setId(UUID.randomUUID());
+        Mockito.when(userService.getUsersAfter(null, 3, UserField.ALL))
+                .thenReturn(reactor.core.publisher.Flux.just(first, second, third));
+        UserPageResponse page = userController.getUsersPage(null, 2, null).block();
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+
+        Mockito.when(userService.getUsersAfter(second.getId(), 3, UserField.ALL))
+                .thenReturn(reactor.core.publisher.Flux.just(third));
+        UserPageResponse next = userController.getUsersPage(page.getNextCursor(), 2, null).block();
+        assertEquals(1, next.getItems().size());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetUsersPageRejectsInvalidCursor() {
+        assertThrows(com.yash.usermanagement.exception.ValidationException.class,
+                () -> userController.getUsersPage("not-a-cursor", 10, null));
+    }
+
+    @Test
+    void testGetUserByIdWithFieldsOnlyFillsSelectedFields() {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id);
+        user.setEmail("john.doe@example.com");
+        user.setPhoneNumber("9876543210");
+        Set<UserField> selected = UserField.parse("email");
+        Mockito.when(userService.getUserById(id, selected)).thenReturn(Mono.just(user));
+        UserResponse body = userController.getUserById(id, "email").block().body();
+        assertEquals("john.doe@example.com", body.getEmail());
+        assertNull(body.getPhoneNumber());
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        assertThrows(com.yash.usermanagement.exception.ValidationException.class,
+                () -> userController.getUserById(UUID.randomUUID(), "password"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.yash.usermanagement.dto;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class BatchGetUsersRequestValidationTest {
+    private final Validator validator;
+
+    public BatchGetUsersRequestValidationTest() {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        this.validator = factory.getValidator();
+    }
+
+    @Test
+    void testValidBatchGetUsersRequest() {
+        BatchGetUsersRequest dto = new BatchGetUsersRequest();
+        dto.setIds(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        Set<ConstraintViolation<BatchGetUsersRequest>> violations = validator.validate(dto);
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void testEmptyIds() {
+        BatchGetUsersRequest dto = new BatchGetUsersRequest();
+        dto.setIds(List.of());
+        Set<ConstraintViolation<BatchGetUsersRequest>> violations = validator.validate(dto);
+        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("ids")));
+    }
+
+    @Test
+    void testTooManyIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        BatchGetUsersRequest dto = new BatchGetUsersRequest();
+        dto.setIds(ids);
+        Set<ConstraintViolation<BatchGetUsersRequest>> violations = validator.validate(dto);
+        assertFalse(violations.isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.yash.usermanagement.security;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.validator.TokenValidator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingTokenValidatorTest {
+
+    private final AtomicInteger validations = new AtomicInteger();
+
+    private TokenValidator<HttpRequest<?>> delegate(long expiresInSeconds) {
+        return (token, request) -> {
+            validations.incrementAndGet();
+            if (token.startsWith("bad")) {
+                return Mono.empty();
+            }
+            return Mono.just(Authentication.build("user@example.com", Map.of(
+                    TokenClaims.JTI, "jti-" + token,
+                    TokenClaims.EXPIRATION, System.currentTimeMillis() / 1000 + expiresInSeconds)));
+        };
+    }
+
+    @Test
+    void testRepeatTokenSkipsDelegate() {
+        CachingTokenValidator validator = new CachingTokenValidator(delegate(3600), 100, Duration.ofMinutes(5));
+        Authentication first = Mono.from(validator.validateToken("token-a", null)).block();
+        Authentication second = Mono.from(validator.validateToken("token-a", null)).block();
+        assertSame(first, second);
+        assertEquals(1, validations.get());
+        Mono.from(validator.validateToken("token-b", null)).block();
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void testRejectedTokenIsNotCached() {
+        CachingTokenValidator validator = new CachingTokenValidator(delegate(3600), 100, Duration.ofMinutes(5));
+        assertNull(Mono.from(validator.validateToken("bad-token", null)).block());
+        assertNull(Mono.from(validator.validateToken("bad-token", null)).block());
+        assertEquals(2, validations.get());
+        assertEquals(0, validator.size());
+    }
+
+    @Test
+    void testEntryDoesNotOutliveToken() {
+        CachingTokenValidator validator = new CachingTokenValidator(delegate(0), 100, Duration.ofMinutes(5));
+        Mono.from(validator.validateToken("token-a", null)).block();
+        Mono.from(validator.validateToken("token-a", null)).block();
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void testRevokedTokenIsPurged() {
+        CachingTokenValidator validator = new CachingTokenValidator(delegate(3600), 100, Duration.ofMinutes(5));
+        Mono.from(validator.validateToken("token-a", null)).block();
+        Mono.from(validator.validateToken("token-b", null)).block();
+        validator.onTokenRevoked(new TokenRevokedEvent("jti-token-a", System.currentTimeMillis() / 1000 + 60, true));
+        assertEquals(1, validator.size());
+        Mono.from(validator.validateToken("token-a", null)).block();
+        assertEquals(3, validations.get());
+    }
+}
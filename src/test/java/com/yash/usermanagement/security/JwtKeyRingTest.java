@@ -0,0 +1,88 @@
+package com.yash.usermanagement.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.context.env.Environment;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testSignsWithActiveKeyAndVerifiesByKid() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(JWSAlgorithm.ES256, null, 3600, now::get);
+        KeyRingSignatureConfiguration signature = new KeyRingSignatureConfiguration(keyRing);
+        SignedJWT jwt = signature.sign(new JWTClaimsSet.Builder().subject("user@example.com").build());
+        assertEquals(JWSAlgorithm.ES256, jwt.getHeader().getAlgorithm());
+        assertEquals(keyRing.activeKeyId(), jwt.getHeader().getKeyID());
+        assertTrue(signature.verify(SignedJWT.parse(jwt.serialize())));
+        assertFalse(signature.supports(JWSAlgorithm.HS256));
+    }
+
+    @Test
+    void testPublishesOnlyPublicKeysIncludingTheNextOne() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(JWSAlgorithm.RS256, null, 3600, now::get);
+        List<JWK> published = JWKSet.parse(keyRing.published().json()).getKeys();
+        assertEquals(2, published.size());
+        assertTrue(published.stream().noneMatch(JWK::isPrivate));
+        assertEquals(keyRing.activeKeyId(), published.get(0).getKeyID());
+        String next = published.get(1).getKeyID();
+        keyRing.rotate();
+        // The key that starts signing was already in the document verifiers cached
+        assertEquals(next, keyRing.activeKeyId());
+    }
+
+    @Test
+    void testRetiredKeyVerifiesUntilItsTokensExpire() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(JWSAlgorithm.ES256, null, 3600, now::get);
+        KeyRingSignatureConfiguration signature = new KeyRingSignatureConfiguration(keyRing);
+        SignedJWT old = signature.sign(new JWTClaimsSet.Builder().subject("user@example.com").build());
+        String etag = keyRing.published().etag();
+        keyRing.rotate();
+        assertNotEquals(etag, keyRing.published().etag());
+        assertTrue(signature.verify(old));
+        now.addAndGet(3601);
+        keyRing.rotate();
+        assertFalse(signature.verify(old));
+        assertFalse(keyRing.published().json().contains(old.getHeader().getKeyID()));
+    }
+
+    @Test
+    void testConfiguredKeysSignWithFirstAndVerifyWithAll() throws Exception {
+        JWK signing = JwtKeyRing.generate(JWSAlgorithm.ES256);
+        JWK previous = JwtKeyRing.generate(JWSAlgorithm.ES256);
+        JwtKeyRing oldRing = new JwtKeyRing(JWSAlgorithm.ES256, new JWKSet(List.of(previous)), 3600, now::get);
+        SignedJWT old = new KeyRingSignatureConfiguration(oldRing)
+                .sign(new JWTClaimsSet.Builder().subject("user@example.com").build());
+
+        JwtKeyRing keyRing = new JwtKeyRing(JWSAlgorithm.RS256, new JWKSet(List.of(signing, previous)), 3600,
+                now::get);
+        assertEquals(JWSAlgorithm.ES256, keyRing.algorithm());
+        assertEquals(signing.getKeyID(), keyRing.activeKeyId());
+        assertTrue(new KeyRingSignatureConfiguration(keyRing).verify(old));
+        assertEquals(2, JWKSet.parse(keyRing.published().json()).getKeys().size());
+    }
+
+    @Test
+    void testGeneratedKeysAreRefusedOutsideDevAndTest() {
+        Environment production = Mockito.mock(Environment.class);
+        Mockito.when(production.getActiveNames()).thenReturn(Set.of("cloud"));
+        assertThrows(IllegalStateException.class, () -> JwtKeyRing.requireSharedKeys(production, ""));
+        assertEquals("{\"keys\":[]}", JwtKeyRing.requireSharedKeys(production, "{\"keys\":[]}"));
+
+        Environment test = Mockito.mock(Environment.class);
+        Mockito.when(test.getActiveNames()).thenReturn(Set.of(Environment.TEST));
+        assertEquals("", JwtKeyRing.requireSharedKeys(test, ""));
+    }
+}
@@ -0,0 +1,120 @@
+package com.yash.usermanagement.security;
+
+import com.yash.usermanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger logins = new AtomicInteger();
+
+    private LoginRateLimiter limiter(int ipCapacity, int emailCapacity, int maxConcurrent) {
+        return limiter(ipCapacity, emailCapacity, emailCapacity, maxConcurrent);
+    }
+
+    private LoginRateLimiter limiter(int ipCapacity, int emailAtAddressCapacity, int emailCapacity,
+            int maxConcurrent) {
+        return new LoginRateLimiter(meterRegistry,
+                new StripedTokenBuckets(1024, ipCapacity, 1, nanos::get),
+                new StripedTokenBuckets(1024, emailAtAddressCapacity, 0.1, nanos::get),
+                new StripedTokenBuckets(1024, emailCapacity, 0.1, nanos::get),
+                maxConcurrent);
+    }
+
+    private Mono<String> login() {
+        logins.incrementAndGet();
+        return Mono.just("token");
+    }
+
+    private Mono<String> wrongPassword() {
+        logins.incrementAndGet();
+        return Mono.error(new IllegalStateException("bad password"));
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("auth.login.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void testEmailBucketLimitsFailuresForOneAccountAcrossAddresses() {
+        LoginRateLimiter limiter = limiter(100, 100, 3, 10);
+        for (int i = 0; i < 3; i++) {
+            String address = "10.0.0." + i;
+            assertThrows(IllegalStateException.class,
+                    () -> limiter.admit("victim@example.com", address, this::wrongPassword).block());
+        }
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.admit("VICTIM@example.com", "10.0.0.9", this::login).block());
+        assertEquals(10, e.getRetryAfterSeconds());
+        assertEquals(3, logins.get());
+        assertEquals(1.0, rejected("email"));
+        // Refills at 0.1 per second
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals("token", limiter.admit("victim@example.com", "10.0.0.9", this::login).block());
+    }
+
+    @Test
+    void testSuccessfulLoginsAreNotCharged() {
+        LoginRateLimiter limiter = limiter(100, 2, 2, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("token", limiter.admit("owner@example.com", "10.0.0.1", this::login).block());
+        }
+        assertEquals(0.0, rejected("email_at_address"));
+        assertEquals(0.0, rejected("email"));
+    }
+
+    @Test
+    void testGuessingFromOneAddressDoesNotLockOutTheOwner() {
+        LoginRateLimiter limiter = limiter(100, 3, 50, 10);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> limiter.admit("victim@example.com", "203.0.113.5", this::wrongPassword).block());
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> limiter.admit("victim@example.com", "203.0.113.5", this::wrongPassword).block());
+        assertEquals(1.0, rejected("email_at_address"));
+        assertEquals("token", limiter.admit("victim@example.com", "10.0.0.1", this::login).block());
+    }
+
+    @Test
+    void testIpBucketLimitsOneAddressAcrossAccounts() {
+        LoginRateLimiter limiter = limiter(2, 100, 10);
+        limiter.admit("a@example.com", "198.51.100.7", this::login).block();
+        limiter.admit("b@example.com", "198.51.100.7", this::login).block();
+        assertThrows(TooManyRequestsException.class,
+                () -> limiter.admit("c@example.com", "198.51.100.7", this::login).block());
+        assertEquals(2, logins.get());
+        assertEquals(1.0, rejected("ip"));
+    }
+
+    @Test
+    void testConcurrencyLimitShedsWhileSlotsAreHeld() {
+        LoginRateLimiter limiter = limiter(100, 100, 1);
+        Sinks.One<String> slow = Sinks.one();
+        Mono<String> first = limiter.admit("a@example.com", "10.0.0.1", slow::asMono);
+        first.subscribe();
+        assertThrows(TooManyRequestsException.class,
+                () -> limiter.admit("b@example.com", "10.0.0.2", this::login).block());
+        assertEquals(1.0, rejected("concurrency"));
+        slow.tryEmitValue("done");
+        assertEquals("token", limiter.admit("b@example.com", "10.0.0.2", this::login).block());
+    }
+
+    @Test
+    void testFailedLoginReleasesSlot() {
+        LoginRateLimiter limiter = limiter(100, 100, 1);
+        assertThrows(IllegalStateException.class, () -> limiter.admit("a@example.com", null,
+                () -> Mono.<String>error(new IllegalStateException("bad password"))).block());
+        assertEquals("token", limiter.admit("a@example.com", null, this::login).block());
+    }
+}
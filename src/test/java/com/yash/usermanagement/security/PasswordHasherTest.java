@@ -0,0 +1,66 @@
+package com.yash.usermanagement.security;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), 4, 2, 16);
+
+    @Test
+    void testHashAndVerify() {
+        String hash = hasher.hash("Secret@123").block();
+        assertNotEquals("Secret@123", hash);
+        assertTrue(hasher.verify("Secret@123", hash).block());
+        assertFalse(hasher.verify("secret@123", hash).block());
+        assertFalse(hasher.needsRehash(hash));
+    }
+
+    @Test
+    void testHashRunsOffCallerThread() {
+        String caller = Thread.currentThread().getName();
+        String worker = hasher.hash("Secret@123").map(h -> Thread.currentThread().getName()).block();
+        assertNotEquals(caller, worker);
+        assertTrue(worker.startsWith("password-hasher-"));
+    }
+
+    @Test
+    void testLegacyPlaintextIsAcceptedAndFlaggedForRehash() {
+        assertTrue(hasher.verify("Secret@123", "Secret@123").block());
+        assertFalse(hasher.verify("Secret@124", "Secret@123").block());
+        assertTrue(hasher.needsRehash("Secret@123"));
+    }
+
+    @Test
+    void testLowerCostHashIsFlaggedForRehash() {
+        PasswordHasher stronger = new PasswordHasher(new SimpleMeterRegistry(), 5, 1, 16);
+        String weak = hasher.hash("Secret@123").block();
+        assertTrue(stronger.needsRehash(weak));
+        assertTrue(stronger.verify("Secret@123", weak).block());
+    }
+
+    @Test
+    void testLongPasswordsAreNotTruncated() {
+        String base = "a".repeat(80);
+        String hash = hasher.hash(base + "x").block();
+        assertFalse(hasher.verify(base + "y", hash).block());
+    }
+
+    @Test
+    void testVerifyMissingNeverMatches() {
+        assertFalse(hasher.verifyMissing("Secret@123").block());
+        assertFalse(hasher.verifyMissing(null).block());
+    }
+
+    @Test
+    void testFullQueueIsRejected() {
+        PasswordHasher tiny = new PasswordHasher(new SimpleMeterRegistry(), 10, 1, 1);
+        assertThrows(ServiceUnavailableException.class, () -> Flux.range(0, 8)
+                .flatMap(i -> tiny.hash("Secret@123"))
+                .blockLast());
+    }
+}
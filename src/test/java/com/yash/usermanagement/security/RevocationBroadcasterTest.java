@@ -0,0 +1,77 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationBroadcasterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenRevocationStore store = new TokenRevocationStore(meterRegistry, 3600,
+            Duration.ofSeconds(1), 1000, 0.01, now::get, ApplicationEventPublisher.noOp());
+    private final RevocationBroadcaster broadcaster = new RevocationBroadcaster(
+            Mockito.mock(ConnectionFactory.class), store, meterRegistry, 500, 2, Duration.ofSeconds(1), now::get);
+
+    @Test
+    void testRemoteRevocationsAreAppliedOnce() {
+        List<String> payloads = RevocationBroadcaster.encode("other-node", List.of(
+                new TokenRevokedEvent("a", now.get() + 60, true),
+                new TokenRevokedEvent("b", now.get() + 60, true)));
+        assertEquals(1, payloads.size());
+        assertEquals(List.of(true, true), broadcaster.onNotification(payloads.get(0)));
+        assertTrue(store.isRevoked("a"));
+        assertTrue(store.isRevoked("b"));
+        // Replays from catch-up or a second notification change nothing
+        assertEquals(List.of(false, false), broadcaster.onNotification(payloads.get(0)));
+        assertEquals(2, meterRegistry.get("auth.revocation.broadcast.received").counter().count());
+    }
+
+    @Test
+    void testOwnNotificationsAreIgnored() {
+        String payload = RevocationBroadcaster.encode(broadcaster.nodeId(),
+                List.of(new TokenRevokedEvent("mine", now.get() + 60, true))).get(0);
+        assertTrue(broadcaster.onNotification(payload).isEmpty());
+        assertFalse(store.isRevoked("mine"));
+    }
+
+    @Test
+    void testLargeBatchesAreSplitUnderThePayloadLimit() {
+        List<TokenRevokedEvent> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(new TokenRevokedEvent(UUID.randomUUID().toString(), now.get() + 3600, true));
+        }
+        List<String> payloads = RevocationBroadcaster.encode(broadcaster.nodeId(), batch);
+        assertEquals(3, payloads.size());
+        payloads.forEach(payload -> assertTrue(payload.length() < 8000));
+    }
+
+    @Test
+    void testOnlyLocalRevocationsAreQueued() {
+        broadcaster.onTokenRevoked(new TokenRevokedEvent("remote", now.get() + 60, false));
+        assertEquals(0, meterRegistry.get("auth.revocation.broadcast.pending").gauge().value());
+        broadcaster.onTokenRevoked(new TokenRevokedEvent("local", now.get() + 60, true));
+        assertEquals(1, meterRegistry.get("auth.revocation.broadcast.pending").gauge().value());
+    }
+
+    @Test
+    void testPendingQueueIsBoundedAndSkipsExpiredEntries() {
+        broadcaster.onTokenRevoked(new TokenRevokedEvent("expired", now.get(), true));
+        assertEquals(0, meterRegistry.get("auth.revocation.broadcast.pending").gauge().value());
+        for (String jti : List.of("first", "second", "third")) {
+            broadcaster.onTokenRevoked(new TokenRevokedEvent(jti, now.get() + 60, true));
+        }
+        assertEquals(2, meterRegistry.get("auth.revocation.broadcast.pending").gauge().value());
+        assertEquals(2, meterRegistry.get("auth.revocation.broadcast.dropped").counter().count());
+    }
+}
@@ -0,0 +1,52 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.security.authentication.Authentication;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenFilterTest {
+
+    private final TokenRevocationStore store = new TokenRevocationStore(new SimpleMeterRegistry(), 3600,
+            Duration.ofSeconds(1), 1000, 0.01, () -> System.currentTimeMillis() / 1000,
+            ApplicationEventPublisher.noOp());
+    private final RevokedTokenFilter filter = new RevokedTokenFilter(store);
+
+    @SuppressWarnings("unchecked")
+    private static HttpRequest<?> request(Authentication authentication) {
+        HttpRequest<Object> request = Mockito.mock(HttpRequest.class);
+        Mockito.when(request.getUserPrincipal(Authentication.class)).thenReturn(Optional.ofNullable(authentication));
+        Mockito.when(request.getPath()).thenReturn("/api/users");
+        return request;
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() {
+        store.revoke("revoked-jti", null);
+        HttpResponse<?> response = filter.rejectRevokedTokens(
+                request(Authentication.build("user@example.com", Map.of("jti", "revoked-jti"))));
+        assertNotNull(response);
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void testActiveTokenPassesThrough() {
+        assertNull(filter.rejectRevokedTokens(
+                request(Authentication.build("user@example.com", Map.of("jti", "active-jti")))));
+    }
+
+    @Test
+    void testAnonymousRequestPassesThrough() {
+        assertNull(filter.rejectRevokedTokens(request(null)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.yash.usermanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingBloomFilterTest {
+
+    @Test
+    void testSizedFromExpectedLoad() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(100_000, 0.01);
+        // ~9.6 bits and 7 probes per element for 1%
+        assertEquals(958_506, filter.bitCount(), 1);
+        assertEquals(7, filter.hashCount());
+    }
+
+    @Test
+    void testNoFalseNegativesAndRateNearTarget() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("member-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("member-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void testElementsLastOneRotation() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01);
+        filter.add("jti");
+        filter.rotate();
+        assertTrue(filter.mightContain("jti"));
+        filter.rotate();
+        assertFalse(filter.mightContain("jti"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+}
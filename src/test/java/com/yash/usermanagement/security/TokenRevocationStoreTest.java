@@ -0,0 +1,95 @@
+package com.yash.usermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenRevocationStore store = new TokenRevocationStore(meterRegistry, 3600,
+            Duration.ofSeconds(1), 1000, 0.01, now::get, ApplicationEventPublisher.noOp());
+
+    @Test
+    void testRevokedUntilTokenExpires() {
+        store.revoke("a", now.get() + 10);
+        assertTrue(store.isRevoked("a"));
+        now.addAndGet(9);
+        store.expire(now.get());
+        assertTrue(store.isRevoked("a"));
+        now.addAndGet(1);
+        store.expire(now.get());
+        assertFalse(store.isRevoked("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testAlreadyExpiredTokenIsNotStored() {
+        store.revoke("old", now.get() - 1);
+        assertFalse(store.isRevoked("old"));
+    }
+
+    @Test
+    void testExpiryIsClampedToTokenLifetime() {
+        store.revoke("no-exp", null);
+        store.revoke("far", now.get() + 86_400);
+        now.addAndGet(3600);
+        store.expire(now.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testLongPauseStillExpiresEverything() {
+        for (int i = 0; i < 100; i++) {
+            store.revoke("t" + i, now.get() + 1 + i * 30L);
+        }
+        now.addAndGet(10_000);
+        store.expire(now.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testRevokeIntoSlotAlreadyPassedIsExpiredOnNextTick() {
+        store.expire(now.get() + 5);
+        // Expires within the current tick, which the wheel has already processed
+        store.revoke("late", now.get() + 5);
+        now.addAndGet(5);
+        assertTrue(store.isRevoked("late"));
+        store.expire(now.get() + 1);
+        assertFalse(store.isRevoked("late"));
+    }
+
+    @Test
+    void testRevocationSurvivesBloomRotationUntilExpiry() {
+        now.addAndGet(3000);
+        store.expire(now.get());
+        store.revoke("rotated", null);
+        // First rotation happens while the token is still valid
+        now.addAndGet(600);
+        store.expire(now.get());
+        assertTrue(store.isRevoked("rotated"));
+        now.addAndGet(3000);
+        store.expire(now.get());
+        assertFalse(store.isRevoked("rotated"));
+    }
+
+    @Test
+    void testUnrevokedLookupsAreCountedOnlyWhenFilterPasses() {
+        for (int i = 0; i < 1000; i++) {
+            store.revoke("revoked-" + i, null);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(store.isRevoked("active-" + i));
+        }
+        double falsePositives = meterRegistry.get("auth.revocation.bloom.false.positives").counter().count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        double estimate = meterRegistry.get("auth.revocation.bloom.false.positive.rate").gauge().value();
+        assertTrue(estimate > 0 && estimate < 0.03, "estimated rate: " + estimate);
+    }
+}
@@ -0,0 +1,38 @@
+package com.yash.usermanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackoffTest {
+
+    @Test
+    void testDelayDoublesUpToTheCap() {
+        Backoff backoff = new Backoff(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        for (int attempt = 1; attempt <= 12; attempt++) {
+            long ceiling = Math.min(300_000, 1000L << (attempt - 1));
+            long delay = backoff.delay(attempt).toMillis();
+            assertTrue(delay >= ceiling / 2 && delay <= ceiling, "attempt " + attempt + ": " + delay);
+        }
+    }
+
+    @Test
+    void testDelayIsJitteredWithinTheUpperHalf() {
+        Backoff backoff = new Backoff(Duration.ofMillis(100), Duration.ofMillis(400));
+        for (int i = 0; i < 20; i++) {
+            long first = backoff.delay(1).toMillis();
+            assertTrue(first >= 50 && first <= 100, "first " + first);
+            long capped = backoff.delay(10).toMillis();
+            assertTrue(capped >= 200 && capped <= 400, "capped " + capped);
+        }
+    }
+
+    @Test
+    void testLargeAttemptCountsStayAtTheCap() {
+        Backoff backoff = new Backoff(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        long delay = backoff.delay(Integer.MAX_VALUE).toMillis();
+        assertTrue(delay >= 150_000 && delay <= 300_000, "delay " + delay);
+    }
+}
@@ -0,0 +1,102 @@
+package com.yash.usermanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, 1_000, 2, now::get, (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    private static void fail(CircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private static void succeed(CircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testOpensAtFailureRateAndRefusesCalls() {
+        CircuitBreaker breaker = breaker();
+        succeed(breaker, 2);
+        fail(breaker, 2);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 1);
+        succeed(breaker, 9);
+        // The failure drops out as the window moves, so four more failures are 4 in 10
+        fail(breaker, 4);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testClosesAfterSuccessfulTrials() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 4);
+        now.addAndGet(1_000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+        // A fresh window: earlier failures no longer count
+        fail(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testFailedTrialReopens() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 4);
+        now.addAndGet(1_000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredTrialFreesItsSlot() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 4);
+        now.addAndGet(1_000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire());
+    }
+}
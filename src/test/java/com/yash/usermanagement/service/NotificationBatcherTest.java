@@ -0,0 +1,130 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationBatcherTest {
+
+    private final Scheduler timer = Schedulers.newSingle("batcher-test");
+    private final List<String> posted = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        timer.dispose();
+    }
+
+    private NotificationBatcher batcher(NotificationBatcher.Sender sender, int maxBatchSize, Duration linger,
+            int maxBuffered) {
+        return new NotificationBatcher(sender, meterRegistry, maxBatchSize, linger, maxBuffered, 2, "/batch",
+                Duration.ofMinutes(10), timer, System::nanoTime);
+    }
+
+    @Test
+    void testFullBatchIsSentAsOneBulkRequest() throws Exception {
+        NotificationBatcher batcher = batcher((path, body) -> {
+            posted.add(path + " " + body);
+            return Mono.empty();
+        }, 3, Duration.ofMinutes(1), 100);
+        CompletableFuture<Void> first = batcher.submit("/notify/a", "{\"n\":1}").toFuture();
+        CompletableFuture<Void> second = batcher.submit("/notify/a", "{\"n\":2}").toFuture();
+        assertFalse(first.isDone());
+        CompletableFuture<Void> third = batcher.submit("/notify/a", "{\"n\":3}").toFuture();
+        CompletableFuture.allOf(first, second, third).get(1, TimeUnit.SECONDS);
+        assertEquals(List.of("/notify/a/batch [{\"n\":1},{\"n\":2},{\"n\":3}]"), posted);
+        assertEquals(0, batcher.buffered());
+    }
+
+    @Test
+    void testPartialBatchIsSentAfterLinger() throws Exception {
+        NotificationBatcher batcher = batcher((path, body) -> {
+            posted.add(path + " " + body);
+            return Mono.empty();
+        }, 100, Duration.ofMillis(20), 100);
+        CompletableFuture<Void> a = batcher.submit("/notify/a", "1").toFuture();
+        CompletableFuture<Void> b = batcher.submit("/notify/b", "2").toFuture();
+        CompletableFuture.allOf(a, b).get(1, TimeUnit.SECONDS);
+        assertTrue(posted.contains("/notify/a/batch [1]"));
+        assertTrue(posted.contains("/notify/b/batch [2]"));
+    }
+
+    @Test
+    void testFallsBackToSingleSendsWhenBulkIsNotSupported() throws Exception {
+        NotificationBatcher batcher = batcher((path, body) -> {
+            if (path.endsWith("/batch")) {
+                return Mono.error(new HttpClientResponseException("Not Found", HttpResponse.status(HttpStatus.NOT_FOUND)));
+            }
+            posted.add(path + " " + body);
+            return Mono.empty();
+        }, 2, Duration.ofMinutes(1), 100);
+        CompletableFuture<Void> first = batcher.submit("/notify/a", "1").toFuture();
+        CompletableFuture<Void> second = batcher.submit("/notify/a", "2").toFuture();
+        CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+        assertEquals(2, posted.size());
+        // Remembered, so the next one goes out directly instead of waiting for a batch
+        batcher.submit("/notify/a", "3").block(Duration.ofSeconds(1));
+        assertEquals("/notify/a 3", posted.get(2));
+        assertEquals(1, meterRegistry.get("notification.batcher.fallbacks").counter().count());
+    }
+
+    @Test
+    void testFallbackBoundsSingleSendsInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        NotificationBatcher batcher = batcher((path, body) -> {
+            if (path.endsWith("/batch")) {
+                return Mono.error(new HttpClientResponseException("Not Found", HttpResponse.status(HttpStatus.NOT_FOUND)));
+            }
+            return Mono.delay(Duration.ofMillis(10))
+                    .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .then();
+        }, 6, Duration.ofMinutes(1), 100);
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            sends.add(batcher.submit("/notify/a", String.valueOf(i)).toFuture());
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void testRefusesItemsOnceTheBufferIsFull() {
+        NotificationBatcher batcher = batcher((path, body) -> Mono.empty(), 100, Duration.ofMinutes(1), 2);
+        batcher.submit("/notify/a", "1").subscribe();
+        batcher.submit("/notify/a", "2").subscribe();
+        assertThrows(ServiceUnavailableException.class, () -> batcher.submit("/notify/a", "3").block());
+        assertEquals(1, meterRegistry.get("notification.batcher.rejected").counter().count());
+        batcher.flushAll();
+        assertEquals(0, batcher.buffered());
+    }
+
+    @Test
+    void testBulkFailureFailsEveryItem() {
+        NotificationBatcher batcher = batcher((path, body) -> Mono.error(
+                new HttpClientResponseException("Unavailable", HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE))),
+                2, Duration.ofMinutes(1), 100);
+        CompletableFuture<Void> first = batcher.submit("/notify/a", "1").toFuture();
+        CompletableFuture<Void> second = batcher.submit("/notify/a", "2").toFuture();
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+}
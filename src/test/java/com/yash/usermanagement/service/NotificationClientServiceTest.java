@@ -3,6 +3,9 @@ package com.yash.usermanagement.service;
 import com.yash.usermanagement.dto.CreateNotificationRequest;
 import com.yash.usermanagement.dto.NotificationRequest;
 import com.yash.usermanagement.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.annotation.MockBean;
@@ -20,6 +23,8 @@ class NotificationClientServiceTest {
     NotificationClientService notificationClientService;
     @Inject
     HttpClient httpClient;
+    @Inject
+    MeterRegistry meterRegistry;
 
     @MockBean(HttpClient.class)
     HttpClient httpClientMock() { return Mockito.mock(HttpClient.class); }
@@ -30,13 +35,13 @@ class NotificationClientServiceTest {
         user.setId(UUID.randomUUID());
         user.setFirstName("John");
         Mockito.when(httpClient.exchange(Mockito.any(io.micronaut.http.HttpRequest.class))).thenReturn(Mono.empty());
-        assertDoesNotThrow(() -> notificationClientService.sendUserCreationNotification(user, "Bearer token").block());
+        assertDoesNotThrow(() -> notificationClientService.sendUserCreationNotification(user).block());
     }
 
     @Test
     void testSendAccountDeletionNotification() {
         Mockito.when(httpClient.exchange(Mockito.any(io.micronaut.http.HttpRequest.class))).thenReturn(Mono.empty());
-        assertDoesNotThrow(() -> notificationClientService.sendAccountDeletionNotification(UUID.randomUUID(), "test@example.com", "Bearer token").block());
+        assertDoesNotThrow(() -> notificationClientService.sendAccountDeletionNotification(UUID.randomUUID(), "test@example.com").block());
     }
 
     @Test
@@ -51,6 +56,18 @@ class NotificationClientServiceTest {
         assertDoesNotThrow(() -> notificationClientService.sendPasswordResetApprovalNotification(UUID.randomUUID(), "test@example.com").block());
     }
 
+    @Test
+    void testRequestIsTimedByRouteAndStatus() {
+        Mockito.doReturn(Mono.just(HttpResponse.accepted()))
+                .when(httpClient).exchange(Mockito.any(io.micronaut.http.HttpRequest.class));
+        notificationClientService.sendPasswordResetApprovalNotification(UUID.randomUUID(), "test@example.com").block();
+        Timer timer = meterRegistry.get("notification.client.requests")
+                .tag("route", "/notify/password-reset-approval")
+                .tag("status", "202")
+                .timer();
+        assertTrue(timer.count() >= 1);
+    }
+
     @Test
     void testSendPasswordChangeRejectionNotification() {
         Mockito.when(httpClient.exchange(Mockito.any(io.micronaut.http.HttpRequest.class))).thenReturn(Mono.empty());
@@ -0,0 +1,97 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.dto.PendingNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatchQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    private static PendingNotification notification(String path) {
+        return new PendingNotification(path, "body");
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("notification.dispatch.dropped").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void testQueuedNotificationsAreSent() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        NotificationDispatchQueue queue = new NotificationDispatchQueue(n -> Mono.fromRunnable(() -> {
+            sent.add(n.getPath());
+            done.countDown();
+        }), meterRegistry, 10, 2, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        assertTrue(queue.offer(notification("/a")));
+        assertTrue(queue.offer(notification("/b")));
+        assertTrue(queue.offer(notification("/c")));
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(3, sent.size());
+        assertEquals(3, meterRegistry.get("notification.dispatch.enqueued").counter().count());
+        queue.close();
+    }
+
+    @Test
+    void testFullQueueDropsInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        NotificationDispatchQueue queue = new NotificationDispatchQueue(n -> Mono.fromRunnable(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        assertTrue(queue.offer(notification("/busy")));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(queue.offer(notification("/waiting")));
+        assertFalse(queue.offer(notification("/dropped")));
+        assertEquals(1, dropped("full"));
+        release.countDown();
+        queue.close();
+    }
+
+    @Test
+    void testFailedSendDoesNotStopTheWorker() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        NotificationDispatchQueue queue = new NotificationDispatchQueue(n -> {
+            if (n.getPath().equals("/bad")) {
+                return Mono.error(new IllegalStateException("boom"));
+            }
+            done.countDown();
+            return Mono.empty();
+        }, meterRegistry, 10, 1, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        queue.offer(notification("/bad"));
+        queue.offer(notification("/good"));
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("notification.dispatch.latency").tag("outcome", "failed").timer().count());
+        queue.close();
+    }
+
+    @Test
+    void testCloseDrainsQueueAndRefusesNewWork() {
+        NotificationDispatchQueue queue = new NotificationDispatchQueue(n -> Mono.fromRunnable(() -> sent.add(n.getPath()))
+                .delaySubscription(Duration.ofMillis(10)).then(), meterRegistry, 100, 1,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        for (int i = 0; i < 20; i++) {
+            queue.offer(notification("/n" + i));
+        }
+        queue.close();
+        assertEquals(20, sent.size());
+        assertEquals(0, queue.queued());
+        assertFalse(queue.offer(notification("/late")));
+        assertEquals(1, dropped("shutdown"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.yash.usermanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.health.HealthStatus;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationLoadBalancerTest {
+
+    private static final String SERVICE = "notification-service";
+    private static final long MILLIS = 1_000_000L;
+
+    private final StaticDiscoveryClient discovery = new StaticDiscoveryClient();
+    private final AtomicLong now = new AtomicLong();
+
+    private NotificationLoadBalancer balancer() {
+        return new NotificationLoadBalancer(discovery, new SimpleMeterRegistry(), SERVICE, true,
+                URI.create("http://localhost:9000"), Duration.ofSeconds(10), Duration.ofSeconds(2), 3,
+                Duration.ofSeconds(30), 50, now::get);
+    }
+
+    private NotificationLoadBalancer.Host host(NotificationLoadBalancer balancer, String url) {
+        return balancer.hosts().stream().filter(host -> host.baseUrl().equals(url)).findFirst().orElseThrow();
+    }
+
+    private void call(NotificationLoadBalancer.Host host, long millis, boolean success) {
+        long started = host.start();
+        now.addAndGet(millis * MILLIS);
+        if (success) {
+            host.onSuccess(started);
+        } else {
+            host.onFailure(started);
+        }
+    }
+
+    @Test
+    void testUsesFallbackUntilDiscoveryAnswers() {
+        NotificationLoadBalancer balancer = balancer();
+        assertEquals("http://localhost:9000", balancer.choose().baseUrl());
+        assertEquals(1, balancer.refresh().block());
+        assertEquals("http://localhost:9000", balancer.choose().baseUrl());
+
+        discovery.register(SERVICE, "http://10.0.0.1:9000").register(SERVICE, "http://10.0.0.2:9000")
+                .register(SERVICE, "http://10.0.0.3:9000", HealthStatus.DOWN);
+        assertEquals(2, balancer.refresh().block());
+        assertEquals(List.of("http://10.0.0.1:9000", "http://10.0.0.2:9000"),
+                balancer.hosts().stream().map(NotificationLoadBalancer.Host::baseUrl).toList());
+    }
+
+    @Test
+    void testPrefersTheFasterInstance() {
+        discovery.register(SERVICE, "http://fast:9000").register(SERVICE, "http://slow:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        call(host(balancer, "http://fast:9000"), 5, true);
+        call(host(balancer, "http://slow:9000"), 200, true);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("http://fast:9000", balancer.choose().baseUrl());
+        }
+    }
+
+    @Test
+    void testFastFailuresDoNotMakeAnInstanceLookCheap() {
+        discovery.register(SERVICE, "http://failing:9000").register(SERVICE, "http://healthy:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        // Refuses connections in a millisecond, where the healthy instance answers in 50
+        call(host(balancer, "http://failing:9000"), 1, false);
+        call(host(balancer, "http://healthy:9000"), 50, true);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("http://healthy:9000", balancer.choose().baseUrl());
+        }
+    }
+
+    @Test
+    void testPrefersTheLessBusyInstance() {
+        discovery.register(SERVICE, "http://a:9000").register(SERVICE, "http://b:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        call(host(balancer, "http://a:9000"), 10, true);
+        call(host(balancer, "http://b:9000"), 10, true);
+        host(balancer, "http://a:9000").start();
+        host(balancer, "http://a:9000").start();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("http://b:9000", balancer.choose().baseUrl());
+        }
+    }
+
+    @Test
+    void testProbesAnUnsampledInstanceOneCallAtATime() {
+        discovery.register(SERVICE, "http://known:9000").register(SERVICE, "http://new:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        call(host(balancer, "http://known:9000"), 10, true);
+        assertEquals("http://new:9000", balancer.choose().baseUrl());
+        host(balancer, "http://new:9000").start();
+        assertEquals("http://known:9000", balancer.choose().baseUrl());
+    }
+
+    @Test
+    void testEjectsFailingInstanceAndLetsItBackLater() {
+        discovery.register(SERVICE, "http://good:9000").register(SERVICE, "http://bad:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        NotificationLoadBalancer.Host bad = host(balancer, "http://bad:9000");
+        call(bad, 1, false);
+        call(bad, 1, false);
+        call(bad, 1, false);
+        call(host(balancer, "http://good:9000"), 50, true);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("http://good:9000", balancer.choose().baseUrl());
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertFalse(bad.ejected(now.get()));
+    }
+
+    @Test
+    void testNeverEjectsMoreThanTheLimit() {
+        discovery.register(SERVICE, "http://a:9000").register(SERVICE, "http://b:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        NotificationLoadBalancer.Host a = host(balancer, "http://a:9000");
+        NotificationLoadBalancer.Host b = host(balancer, "http://b:9000");
+        for (int i = 0; i < 3; i++) {
+            call(a, 1, false);
+            call(b, 1, false);
+        }
+        // Half of two instances may be ejected; the second stays in
+        assertTrue(a.ejected(now.get()));
+        assertFalse(b.ejected(now.get()));
+    }
+
+    @Test
+    void testRefreshKeepsStatisticsOfRemainingInstances() {
+        discovery.register(SERVICE, "http://a:9000").register(SERVICE, "http://b:9000");
+        NotificationLoadBalancer balancer = balancer();
+        balancer.refresh().block();
+        NotificationLoadBalancer.Host a = host(balancer, "http://a:9000");
+        a.start();
+        discovery.deregisterAll(SERVICE);
+        discovery.register(SERVICE, "http://a:9000").register(SERVICE, "http://c:9000");
+        balancer.refresh().block();
+        assertSame(a, host(balancer, "http://a:9000"));
+        assertEquals(1, host(balancer, "http://a:9000").inFlight());
+        assertEquals(2, balancer.hosts().size());
+    }
+}
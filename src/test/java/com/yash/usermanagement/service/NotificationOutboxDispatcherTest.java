@@ -0,0 +1,104 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.model.NotificationOutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.env.Environment;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationOutboxDispatcherTest {
+
+    private final NotificationOutbox outbox = Mockito.mock(NotificationOutbox.class);
+    private final NotificationClientService client = Mockito.mock(NotificationClientService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationOutboxDispatcher dispatcher = new NotificationOutboxDispatcher(outbox, client,
+            meterRegistry, Mockito.mock(Environment.class), "service-token", 100, 4, 3, Duration.ofSeconds(1),
+            Duration.ofMinutes(5));
+
+    @Test
+    void testServiceCredentialIsRequiredOutsideDevAndTest() {
+        Environment production = Mockito.mock(Environment.class);
+        Mockito.when(production.getActiveNames()).thenReturn(Set.of("prod"));
+        assertThrows(IllegalStateException.class,
+                () -> NotificationOutboxDispatcher.requireServiceCredential(production, ""));
+        assertDoesNotThrow(() -> NotificationOutboxDispatcher.requireServiceCredential(production, "service-token"));
+
+        Environment test = Mockito.mock(Environment.class);
+        Mockito.when(test.getActiveNames()).thenReturn(Set.of(Environment.TEST));
+        assertDoesNotThrow(() -> NotificationOutboxDispatcher.requireServiceCredential(test, ""));
+    }
+
+    @Test
+    void testDeliveredEntriesAreRemoved() {
+        NotificationOutboxEntry entry = entry(1);
+        Mockito.when(outbox.claimDue(100)).thenReturn(Flux.just(entry));
+        Mockito.when(client.sendAsService(entry.getPath(), entry.getPayload())).thenReturn(Mono.empty());
+        Mockito.when(outbox.delivered(entry)).thenReturn(Mono.empty());
+        assertEquals(1L, dispatcher.dispatchBatch().block());
+        Mockito.verify(outbox).delivered(entry);
+        assertEquals(1, meterRegistry.get("notification.outbox.dispatched").tag("outcome", "sent").counter().count());
+    }
+
+    @Test
+    void testFailedEntriesAreRetriedLater() {
+        NotificationOutboxEntry entry = entry(1);
+        Mockito.when(outbox.claimDue(100)).thenReturn(Flux.just(entry));
+        Mockito.when(client.sendAsService(entry.getPath(), entry.getPayload()))
+                .thenReturn(Mono.error(new RuntimeException("503")));
+        Mockito.when(outbox.failed(Mockito.eq(entry), Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
+        dispatcher.dispatchBatch().block();
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(outbox).failed(Mockito.eq(entry), Mockito.any(), retryAt.capture());
+        assertTrue(retryAt.getValue().isAfter(LocalDateTime.now()));
+        Mockito.verify(outbox, Mockito.never()).delivered(entry);
+    }
+
+    @Test
+    void testEntriesAreAbandonedAfterMaxAttempts() {
+        NotificationOutboxEntry entry = entry(3);
+        Mockito.when(outbox.claimDue(100)).thenReturn(Flux.just(entry));
+        Mockito.when(client.sendAsService(entry.getPath(), entry.getPayload()))
+                .thenReturn(Mono.error(new RuntimeException("503")));
+        Mockito.when(outbox.failed(Mockito.eq(entry), Mockito.any(), Mockito.isNull())).thenReturn(Mono.empty());
+        dispatcher.dispatchBatch().block();
+        Mockito.verify(outbox).failed(Mockito.eq(entry), Mockito.any(), Mockito.isNull());
+        assertEquals(1, meterRegistry.get("notification.outbox.dispatched").tag("outcome", "abandoned").counter().count());
+    }
+
+    @Test
+    void testBatchingClientGetsTheWholeClaimedBatch() {
+        NotificationOutboxEntry[] entries = new NotificationOutboxEntry[10];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = entry(1);
+        }
+        AtomicInteger submitted = new AtomicInteger();
+        Mockito.when(outbox.claimDue(100)).thenReturn(Flux.just(entries));
+        Mockito.when(client.isBatching()).thenReturn(true);
+        // Nothing completes until its batch is sent, so with the plain concurrency of 4 only 4 would be submitted
+        Mockito.when(client.sendAsService(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.<Void>never().doOnSubscribe(s -> submitted.incrementAndGet()));
+        dispatcher.dispatchBatch().subscribe();
+        assertEquals(10, submitted.get());
+    }
+
+    private static NotificationOutboxEntry entry(int attempts) {
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setId(UUID.randomUUID());
+        entry.setPath("/notify/password-reset-request");
+        entry.setPayload("{\"recipient\":\"user@example.com\"}");
+        entry.setAttempts(attempts);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+}
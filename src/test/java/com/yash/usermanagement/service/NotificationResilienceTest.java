@@ -0,0 +1,96 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationResilienceTest {
+
+    private static final String PATH = "/api/notifications";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    private NotificationResilience resilience(Duration timeout, int maxConcurrent) {
+        return new NotificationResilience(meterRegistry, timeout, maxConcurrent, 10, 4, 0.5,
+                Duration.ofSeconds(30), 1, now::get);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("notification.client.rejected").tag("path", PATH).tag("reason", reason)
+                .counter().count();
+    }
+
+    @Test
+    void testServerErrorsOpenTheCircuit() {
+        NotificationResilience resilience = resilience(Duration.ofSeconds(1), 10);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientResponseException.class, () -> resilience.call(PATH, () -> {
+                calls.incrementAndGet();
+                return Mono.error(new HttpClientResponseException("down", HttpResponse.status(HttpStatus.BAD_GATEWAY)));
+            }).block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.state(PATH));
+        assertThrows(ServiceUnavailableException.class,
+                () -> resilience.call(PATH, () -> {
+                    calls.incrementAndGet();
+                    return Mono.empty();
+                }).block());
+        assertEquals(4, calls.get());
+        assertEquals(1, rejected("circuit_open"));
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenTheCircuit() {
+        NotificationResilience resilience = resilience(Duration.ofSeconds(1), 10);
+        for (int i = 0; i < 6; i++) {
+            assertThrows(HttpClientResponseException.class, () -> resilience.call(PATH, () ->
+                    Mono.error(new HttpClientResponseException("bad", HttpResponse.status(HttpStatus.BAD_REQUEST))))
+                    .block());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.state(PATH));
+    }
+
+    @Test
+    void testSlowCallsTimeOutAndCountAsFailures() {
+        NotificationResilience resilience = resilience(Duration.ofMillis(20), 10);
+        for (int i = 0; i < 4; i++) {
+            RuntimeException e = assertThrows(RuntimeException.class,
+                    () -> resilience.call(PATH, Mono::never).block());
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.state(PATH));
+    }
+
+    @Test
+    void testBulkheadRefusesCallsBeyondTheLimit() {
+        NotificationResilience resilience = resilience(Duration.ofSeconds(5), 1);
+        Sinks.Empty<Void> pending = Sinks.empty();
+        resilience.call(PATH, pending::asMono).subscribe();
+        assertThrows(ServiceUnavailableException.class,
+                () -> resilience.call(PATH, Mono::empty).block());
+        assertEquals(1, rejected("bulkhead"));
+        pending.tryEmitEmpty();
+        assertDoesNotThrow(() -> resilience.call(PATH, Mono::empty).block());
+    }
+
+    @Test
+    void testCancelledCallReleasesTheBulkhead() {
+        NotificationResilience resilience = resilience(Duration.ofSeconds(5), 1);
+        resilience.call(PATH, Mono::never).subscribe().dispose();
+        assertDoesNotThrow(() -> resilience.call(PATH, Mono::empty).block());
+    }
+}
@@ -0,0 +1,117 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRetryPolicyTest {
+
+    private static final String PATH = "/notify/password-reset-approval";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationRetryPolicy policy(RetryBudget budget, boolean hedging) {
+        return new NotificationRetryPolicy(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(5), Set.of(PATH),
+                budget, hedging, Duration.ofMillis(20), 5, System::nanoTime);
+    }
+
+    private static RetryBudget plentiful() {
+        return new RetryBudget(1, 100, 100, System::nanoTime);
+    }
+
+    private static HttpClientResponseException status(HttpStatus status) {
+        return new HttpClientResponseException(status.getReason(), HttpResponse.status(status));
+    }
+
+    @Test
+    void testServerErrorIsRetriedOnIdempotentPath() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<Void> call = Mono.defer(() -> calls.incrementAndGet() < 3
+                ? Mono.error(status(HttpStatus.SERVICE_UNAVAILABLE)) : Mono.empty());
+        assertDoesNotThrow(() -> policy(plentiful(), false).execute(PATH, () -> call).block());
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.get("notification.client.retries").counter().count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<Void> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(status(HttpStatus.BAD_GATEWAY));
+        });
+        assertThrows(HttpClientResponseException.class,
+                () -> policy(plentiful(), false).execute(PATH, () -> call).block());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testServerErrorIsNotRetriedOnOtherPaths() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<Void> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(status(HttpStatus.SERVICE_UNAVAILABLE));
+        });
+        assertThrows(HttpClientResponseException.class,
+                () -> policy(plentiful(), false).execute("/api/notifications/user-creation", () -> call).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testConnectFailureIsRetriedOnAnyPath() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<Void> call = Mono.defer(() -> calls.incrementAndGet() < 2
+                ? Mono.error(new HttpClientException("Connect Error", new ConnectException("refused")))
+                : Mono.empty());
+        assertDoesNotThrow(() -> policy(plentiful(), false)
+                .execute("/api/notifications/user-creation", () -> call).block());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testClientErrorsAndRefusalsAreNotRetried() {
+        assertFalse(NotificationRetryPolicy.retryable(status(HttpStatus.BAD_REQUEST), true));
+        assertFalse(NotificationRetryPolicy.retryable(status(HttpStatus.NOT_IMPLEMENTED), true));
+        assertFalse(NotificationRetryPolicy.retryable(new ServiceUnavailableException("open"), true));
+        assertTrue(NotificationRetryPolicy.retryable(status(HttpStatus.TOO_MANY_REQUESTS), true));
+    }
+
+    @Test
+    void testEmptyBudgetStopsRetries() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<Void> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(status(HttpStatus.SERVICE_UNAVAILABLE));
+        });
+        NotificationRetryPolicy policy = policy(new RetryBudget(0, 0, 10, System::nanoTime), false);
+        assertThrows(HttpClientResponseException.class, () -> policy.execute(PATH, () -> call).block());
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.get("notification.client.retry.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void testSlowCallIsHedgedAfterP95() {
+        NotificationRetryPolicy policy = policy(plentiful(), true);
+        for (int i = 0; i < 5; i++) {
+            policy.execute(PATH, Mono::empty).block();
+        }
+        AtomicInteger calls = new AtomicInteger();
+        // The first attempt hangs; the hedge fires after min-delay and succeeds
+        Mono<Void> call = Mono.defer(() -> calls.incrementAndGet() == 1 ? Mono.never() : Mono.empty());
+        assertDoesNotThrow(() -> policy.execute(PATH, () -> call).block(Duration.ofSeconds(1)));
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get("notification.client.hedges").counter().count());
+    }
+}
@@ -0,0 +1,44 @@
+package com.yash.usermanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testRetriesAreLimitedToTheRatioOfRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 100, now::get);
+        assertFalse(budget.tryRetry());
+        for (int i = 0; i < 25; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    void testMinimumPerSecondRefillsWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.1, 2, 10, now::get);
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        now.addAndGet(500_000_000L);
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    void testBalanceIsCapped() {
+        RetryBudget budget = new RetryBudget(1, 0, 3, now::get);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        assertEquals(3, budget.available(), 1e-9);
+    }
+}
@@ -0,0 +1,55 @@
+package com.yash.usermanagement.service;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for Consul: tests register instances and the code under test discovers them
+ * through the same {@link DiscoveryClient} interface.
+ */
+class StaticDiscoveryClient implements DiscoveryClient {
+
+    private final Map<String, List<ServiceInstance>> services = new ConcurrentHashMap<>();
+
+    StaticDiscoveryClient register(String serviceId, String url) {
+        return register(serviceId, url, HealthStatus.UP);
+    }
+
+    StaticDiscoveryClient register(String serviceId, String url, HealthStatus status) {
+        services.computeIfAbsent(serviceId, id -> new ArrayList<>())
+                .add(ServiceInstance.builder(serviceId, URI.create(url)).status(status).build());
+        return this;
+    }
+
+    void deregisterAll(String serviceId) {
+        services.remove(serviceId);
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances(String serviceId) {
+        return Mono.fromSupplier(() -> List.copyOf(services.getOrDefault(serviceId, List.of())));
+    }
+
+    @Override
+    public Publisher<List<String>> getServiceIds() {
+        return Mono.fromSupplier(() -> List.copyOf(services.keySet()));
+    }
+
+    @Override
+    public String getDescription() {
+        return "static";
+    }
+
+    @Override
+    public void close() {
+    }
+}
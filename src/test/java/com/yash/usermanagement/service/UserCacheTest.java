@@ -0,0 +1,41 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.model.User;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class UserCacheTest {
+    @Inject
+    UserCache userCache;
+
+    private static User user(UUID id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+
+    @Test
+    void testLoadOvertakenByEvictionIsNotCached() {
+        UUID id = UUID.randomUUID();
+        Sinks.One<User> db = Sinks.one();
+        Mono<User> load = userCache.getById(id, db::asMono);
+        load.subscribe();
+        // The row changes and is evicted while the old version is still on its way back
+        userCache.evict(id);
+        db.tryEmitValue(user(id, "old@example.com"));
+        assertTrue(userCache.getIfPresent(id).isEmpty());
+
+        User fresh = user(id, "new@example.com");
+        assertEquals(fresh, userCache.getById(id, () -> Mono.just(fresh)).block());
+        assertEquals(fresh, userCache.getIfPresent(id).orElseThrow());
+    }
+}
@@ -0,0 +1,117 @@
+package com.yash.usermanagement.service;
+
+import com.yash.usermanagement.model.User;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserListCacheTest {
+
+    private static User user(String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        return user;
+    }
+
+    @Test
+    void testConcurrentReloadsShareOneQuery() {
+        UserListCache cache = new UserListCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<List<User>> db = Sinks.one();
+        Mono<List<User>> first = cache.get(() -> {
+            loads.incrementAndGet();
+            return db.asMono();
+        });
+        Mono<List<User>> second = cache.get(() -> {
+            loads.incrementAndGet();
+            return db.asMono();
+        });
+        first.subscribe();
+        second.subscribe();
+        db.tryEmitValue(List.of(user("a@example.com")));
+        assertEquals(1, first.block().size());
+        assertEquals(1, second.block().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testWritesPatchSnapshotWithoutReload() {
+        UserListCache cache = new UserListCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        User existing = user("a@example.com");
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(() -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of(existing));
+        }).block();
+
+        User created = user("b@example.com");
+        cache.upsert(created);
+        cache.remove(existing.getId());
+
+        List<User> users = cache.get(() -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of());
+        }).block();
+        assertEquals(List.of(created), users);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testListIsRebuiltOnlyAfterAWrite() {
+        UserListCache cache = new UserListCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        User existing = user("a@example.com");
+        List<User> first = cache.get(() -> Mono.just(List.of(existing))).block();
+        assertSame(first, cache.get(Mono::empty).block());
+
+        User created = user("b@example.com");
+        cache.upsert(created);
+        List<User> patched = cache.get(Mono::empty).block();
+        assertNotSame(first, patched);
+        assertEquals(List.of(existing), first);
+        assertEquals(2, patched.size());
+        assertTrue(patched.contains(created));
+    }
+
+    @Test
+    void testUsersAreListedById() {
+        UserListCache cache = new UserListCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        User second = user("b@example.com");
+        second.setId(UUID.fromString("7fffffff-0000-0000-0000-000000000000"));
+        User last = user("c@example.com");
+        last.setId(UUID.fromString("ffffffff-0000-0000-0000-000000000000"));
+        cache.get(() -> Mono.just(List.of(last, second))).block();
+        User first = user("a@example.com");
+        first.setId(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        cache.upsert(first);
+        assertEquals(List.of(first, second, last), cache.get(Mono::empty).block());
+    }
+
+    @Test
+    void testWriteDuringReloadIsReplayed() {
+        UserListCache cache = new UserListCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        Sinks.One<List<User>> db = Sinks.one();
+        Mono<List<User>> pending = cache.get(db::asMono);
+        pending.subscribe();
+        User created = user("late@example.com");
+        cache.upsert(created);
+        db.tryEmitValue(List.of());
+        assertEquals(List.of(created), pending.block());
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWhileRefreshing() {
+        UserListCache cache = new UserListCache(Duration.ZERO, Duration.ofMinutes(5));
+        User stale = user("stale@example.com");
+        cache.get(() -> Mono.just(List.of(stale))).block();
+        Sinks.One<List<User>> db = Sinks.one();
+        assertEquals(List.of(stale), cache.get(db::asMono).block());
+    }
+}
@@ -2,10 +2,18 @@ package com.yash.usermanagement.service.impl;
 
 import com.yash.usermanagement.dto.LoginRequestDTO;
 import com.yash.usermanagement.dto.LoginResponseDTO;
+import com.yash.usermanagement.dto.RefreshTokenView;
+import com.yash.usermanagement.dto.UserCredentials;
 import com.yash.usermanagement.exception.AuthenticationException;
-import com.yash.usermanagement.model.User;
+import com.yash.usermanagement.model.RefreshToken;
 import com.yash.usermanagement.model.UserRole;
+import com.yash.usermanagement.repository.RefreshTokenRepository;
+import com.yash.usermanagement.security.PasswordHasher;
+import com.yash.usermanagement.security.TokenRevocationStore;
 import com.yash.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.security.authentication.Authentication;
 import io.micronaut.security.token.generator.TokenGenerator;
 import io.micronaut.security.token.validator.TokenValidator;
@@ -13,8 +21,12 @@ import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.annotation.MockBean;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.reactivestreams.Publisher;
@@ -22,6 +34,7 @@ import org.reactivestreams.Publisher;
 import static org.junit.jupiter.api.Assertions.*;
 
 @MicronautTest
+@Property(name = "users.security.password.cost", value = "4")
 class AuthenticationServiceImplTest {
     @Inject
     AuthenticationServiceImpl authenticationService;
@@ -31,6 +44,14 @@ class AuthenticationServiceImplTest {
     TokenGenerator tokenGenerator;
     @Inject
     TokenValidator tokenValidator;
+    @Inject
+    PasswordHasher passwordHasher;
+    @Inject
+    TokenRevocationStore revocationStore;
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+    @Inject
+    MeterRegistry meterRegistry;
 
     @MockBean(UserService.class)
     UserService userServiceMock() { return Mockito.mock(UserService.class); }
@@ -38,23 +59,66 @@ class AuthenticationServiceImplTest {
     TokenGenerator tokenGeneratorMock() { return Mockito.mock(TokenGenerator.class); }
     @MockBean(TokenValidator.class)
     TokenValidator tokenValidatorMock() { return Mockito.mock(TokenValidator.class); }
+    @MockBean(RefreshTokenRepository.class)
+    RefreshTokenRepository refreshTokenRepositoryMock() {
+        RefreshTokenRepository repository = Mockito.mock(RefreshTokenRepository.class);
+        Mockito.when(repository.save(Mockito.any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        return repository;
+    }
 
     @Test
     void testLoginSuccess() {
         LoginRequestDTO req = new LoginRequestDTO();
         req.setEmail("user@example.com");
         req.setPassword("password");
-        User user = new User();
+        UserCredentials user = new UserCredentials();
         user.setId(UUID.randomUUID());
         user.setEmail("user@example.com");
+        user.setPassword("password");
         user.setRole(UserRole.USER);
         user.setFirstName("John");
         user.setLastName("Doe");
-        Mockito.when(userService.getUserByEmail("user@example.com")).thenReturn(Mono.just(user));
-        Mockito.when(userService.validateCurrentPassword(user.getId(), "password")).thenReturn(Mono.just(true));
+        Mockito.when(userService.getCredentialsByEmail("user@example.com")).thenReturn(Mono.just(user));
+        Mockito.when(userService.upgradePasswordHash(user.getId(), "password", "password")).thenReturn(Mono.empty());
         Mockito.when(tokenGenerator.generateToken(Mockito.anyMap())).thenReturn(Optional.of("token"));
         Mono<LoginResponseDTO> result = authenticationService.login(req);
-        assertEquals("token", result.block().getAccessToken());
+        LoginResponseDTO response = result.block();
+        assertEquals("token", response.getAccessToken());
+        assertNotNull(response.getRefreshToken());
+        // Legacy plaintext password is upgraded once the tokens are issued
+        Mockito.verify(userService, Mockito.timeout(1000)).upgradePasswordHash(user.getId(), "password", "password");
+        ArgumentCaptor<Map<String, Object>> claims = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(tokenGenerator, Mockito.atLeastOnce()).generateToken(claims.capture());
+        assertNotNull(claims.getValue().get("jti"));
+        long exp = (Long) claims.getValue().get("exp");
+        assertEquals(3600L, exp - (Long) claims.getValue().get("iat"));
+        assertNotNull(claims.getValue().get("sid"));
+        // Only the hash of the refresh token is stored
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        Mockito.verify(refreshTokenRepository, Mockito.atLeastOnce()).save(saved.capture());
+        assertEquals(claims.getValue().get("sid"), saved.getValue().getFamilyId().toString());
+        assertNotEquals(response.getRefreshToken(), saved.getValue().getTokenHash());
+        // The credential row is the only user read on the login path
+        Mockito.verify(userService, Mockito.never()).getUserByEmail(Mockito.anyString());
+        Mockito.verify(userService, Mockito.never()).validateCurrentPassword(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    void testLoginWithCurrentHashSkipsUpgrade() {
+        LoginRequestDTO req = new LoginRequestDTO();
+        req.setEmail("hashed@example.com");
+        req.setPassword("password");
+        UserCredentials user = new UserCredentials();
+        user.setId(UUID.randomUUID());
+        user.setEmail("hashed@example.com");
+        user.setPassword(passwordHasher.hash("password").block());
+        user.setRole(UserRole.USER);
+        Mockito.when(userService.getCredentialsByEmail("hashed@example.com")).thenReturn(Mono.just(user));
+        Mockito.when(tokenGenerator.generateToken(Mockito.anyMap())).thenReturn(Optional.of("token"));
+        assertEquals("token", authenticationService.login(req).block().getAccessToken());
+        Mockito.verify(userService, Mockito.never())
+                .upgradePasswordHash(Mockito.eq(user.getId()), Mockito.any(), Mockito.any());
     }
 
     @Test
@@ -62,11 +126,11 @@ class AuthenticationServiceImplTest {
         LoginRequestDTO req = new LoginRequestDTO();
         req.setEmail("user@example.com");
         req.setPassword("wrong");
-        User user = new User();
+        UserCredentials user = new UserCredentials();
         user.setId(UUID.randomUUID());
         user.setEmail("user@example.com");
-        Mockito.when(userService.getUserByEmail("user@example.com")).thenReturn(Mono.just(user));
-        Mockito.when(userService.validateCurrentPassword(user.getId(), "wrong")).thenReturn(Mono.just(false));
+        user.setPassword("password");
+        Mockito.when(userService.getCredentialsByEmail("user@example.com")).thenReturn(Mono.just(user));
         Mono<LoginResponseDTO> result = authenticationService.login(req);
         assertThrows(Exception.class, () -> result.block());
     }
@@ -75,19 +139,27 @@ class AuthenticationServiceImplTest {
     void testLoginUserNotFound() {
         LoginRequestDTO req = new LoginRequestDTO();
         req.setEmail("notfound@example.com");
-        Mockito.when(userService.getUserByEmail("notfound@example.com")).thenReturn(Mono.empty());
+        req.setPassword("password");
+        Mockito.when(userService.getCredentialsByEmail("notfound@example.com")).thenReturn(Mono.empty());
+        Timer verifications = meterRegistry.get("password.hasher.duration").tag("operation", "verify").timer();
+        long before = verifications.count();
         Mono<LoginResponseDTO> result = authenticationService.login(req);
-        assertThrows(Exception.class, () -> result.block());
+        assertThrows(AuthenticationException.class, () -> result.block());
+        // The miss still pays for a bcrypt verification
+        assertEquals(before + 1, verifications.count());
     }
 
     @Test
     void testLogoutSuccess() {
         String token = "valid.jwt.token";
-        Authentication authentication = Mockito.mock(Authentication.class);
+        String jti = UUID.randomUUID().toString();
+        Authentication authentication = Authentication.build("user@example.com",
+                Map.of("jti", jti, "exp", new Date(System.currentTimeMillis() + 60_000)));
         Publisher<Authentication> publisher = Mono.just(authentication);
         Mockito.when(tokenValidator.validateToken(token, null)).thenReturn(publisher);
         Mono<Void> result = authenticationService.logout(token);
         assertDoesNotThrow(() -> result.block());
+        assertTrue(revocationStore.isRevoked(jti));
     }
 
     @Test
@@ -98,4 +170,54 @@ class AuthenticationServiceImplTest {
         Mono<Void> result = authenticationService.logout(token);
         assertThrows(Exception.class, () -> result.block());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testRefreshRotatesTokenWithoutCredentialCheck() {
+        RefreshTokenView token = refreshTokenView(LocalDateTime.now().plusDays(1));
+        Mockito.when(refreshTokenRepository.findWithUserByTokenHash(Mockito.anyString())).thenReturn(Mono.just(token));
+        Mockito.when(refreshTokenRepository.markRotated(Mockito.eq(token.getId()), Mockito.any()))
+                .thenReturn(Mono.just(1L));
+        Mockito.when(tokenGenerator.generateToken(Mockito.anyMap())).thenReturn(Optional.of("refreshed"));
+        LoginResponseDTO response = authenticationService.refresh("old-refresh-token").block();
+        assertEquals("refreshed", response.getAccessToken());
+        assertEquals(token.getEmail(), response.getEmail());
+        assertNotEquals("old-refresh-token", response.getRefreshToken());
+        // The successor stays in the same family so logout and reuse detection cover it
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        Mockito.verify(refreshTokenRepository, Mockito.atLeastOnce()).save(saved.capture());
+        assertEquals(token.getFamilyId(), saved.getValue().getFamilyId());
+        Mockito.verify(userService, Mockito.never()).getCredentialsByEmail(token.getEmail());
+    }
+
+    @Test
+    void testRefreshWithRotatedTokenRevokesFamily() {
+        RefreshTokenView token = refreshTokenView(LocalDateTime.now().plusDays(1));
+        token.setRotatedAt(LocalDateTime.now().minusMinutes(1));
+        Mockito.when(refreshTokenRepository.findWithUserByTokenHash(Mockito.anyString())).thenReturn(Mono.just(token));
+        Mockito.when(refreshTokenRepository.revokeFamily(Mockito.eq(token.getFamilyId()), Mockito.any()))
+                .thenReturn(Mono.just(2L));
+        assertThrows(AuthenticationException.class, () -> authenticationService.refresh("replayed").block());
+        Mockito.verify(refreshTokenRepository).revokeFamily(Mockito.eq(token.getFamilyId()), Mockito.any());
+    }
+
+    @Test
+    void testRefreshWithExpiredToken() {
+        RefreshTokenView token = refreshTokenView(LocalDateTime.now().minusMinutes(1));
+        Mockito.when(refreshTokenRepository.findWithUserByTokenHash(Mockito.anyString())).thenReturn(Mono.just(token));
+        assertThrows(AuthenticationException.class, () -> authenticationService.refresh("expired").block());
+        Mockito.verify(refreshTokenRepository, Mockito.never()).markRotated(Mockito.eq(token.getId()), Mockito.any());
+    }
+
+    private static RefreshTokenView refreshTokenView(LocalDateTime expiresAt) {
+        RefreshTokenView token = new RefreshTokenView();
+        token.setId(UUID.randomUUID());
+        token.setUserId(UUID.randomUUID());
+        token.setFamilyId(UUID.randomUUID());
+        token.setExpiresAt(expiresAt);
+        token.setEmail("user@example.com");
+        token.setRole(UserRole.USER);
+        token.setFirstName("John");
+        token.setLastName("Doe");
+        return token;
+    }
+}
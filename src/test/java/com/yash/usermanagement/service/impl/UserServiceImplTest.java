@@ -2,23 +2,42 @@ package com.yash.usermanagement.service.impl;
 
 import com.yash.usermanagement.model.*;
 import com.yash.usermanagement.repository.*;
+import com.yash.usermanagement.security.PasswordHasher;
 import com.yash.usermanagement.service.NotificationClientService;
+import com.yash.usermanagement.service.NotificationOutbox;
+import com.yash.usermanagement.service.NotificationDispatchQueue;
+import com.yash.usermanagement.service.UserCache;
+import com.yash.usermanagement.dto.PendingNotification;
+import com.yash.usermanagement.dto.BulkCreateUserResult;
+import com.yash.usermanagement.dto.CreateUserRequest;
 import com.yash.usermanagement.dto.PasswordChangeApprovalDTO;
 import com.yash.usermanagement.dto.PasswordChangeRequestDTO;
+import com.yash.usermanagement.dto.PendingPasswordChangeRequestView;
+import com.yash.usermanagement.dto.UserField;
+import com.yash.usermanagement.dto.UserSummary;
 import com.yash.usermanagement.exception.DatabaseException;
+import com.yash.usermanagement.exception.DuplicateResourceException;
 import com.yash.usermanagement.exception.ResourceNotFoundException;
 import com.yash.usermanagement.exception.ValidationException;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.annotation.MockBean;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.data.model.Pageable;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.BaseSubscriber;
+import org.reactivestreams.Subscription;
+import java.time.LocalDateTime;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @MicronautTest
+@Property(name = "users.export.chunk-size", value = "2")
+@Property(name = "users.security.password.cost", value = "4")
 class UserServiceImplTest {
     @Inject
     UserServiceImpl userService;
@@ -31,7 +50,17 @@ class UserServiceImplTest {
     @Inject
     UserDeviceRepository userDeviceRepository;
     @Inject
+    RefreshTokenRepository refreshTokenRepository;
+    @Inject
     NotificationClientService notificationClientService;
+    @Inject
+    PasswordHasher passwordHasher;
+    @Inject
+    NotificationOutbox notificationOutbox;
+    @Inject
+    NotificationDispatchQueue notificationDispatchQueue;
+    @Inject
+    UserCache userCache;
 
     @MockBean(UserRepository.class)
     UserRepository userRepositoryMock() { return Mockito.mock(UserRepository.class); }
@@ -41,18 +70,28 @@ class UserServiceImplTest {
     PasswordChangeRequestRepository passwordChangeRequestRepositoryMock() { return Mockito.mock(PasswordChangeRequestRepository.class); }
     @MockBean(UserDeviceRepository.class)
     UserDeviceRepository userDeviceRepositoryMock() { return Mockito.mock(UserDeviceRepository.class); }
+    @MockBean(RefreshTokenRepository.class)
+    RefreshTokenRepository refreshTokenRepositoryMock() { return Mockito.mock(RefreshTokenRepository.class); }
     @MockBean(NotificationClientService.class)
     NotificationClientService notificationClientServiceMock() { return Mockito.mock(NotificationClientService.class); }
+    @MockBean(NotificationOutbox.class)
+    NotificationOutbox notificationOutboxMock() {
+        NotificationOutbox outbox = Mockito.mock(NotificationOutbox.class);
+        Mockito.when(outbox.enqueue(Mockito.any())).thenReturn(Mono.empty());
+        return outbox;
+    }
+    @MockBean(NotificationDispatchQueue.class)
+    NotificationDispatchQueue notificationDispatchQueueMock() { return Mockito.mock(NotificationDispatchQueue.class); }
 
     @Test
     void testCreateUserSuccess() {
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("test@example.com");
-        Mockito.when(userRepository.findByEmail("test@example.com")).thenReturn(Mono.empty());
-        Mockito.when(userRepository.save(user)).thenReturn(Mono.just(user));
+        mockInsert("test@example.com", 1L);
         Mono<User> result = userService.createUser(user);
         assertEquals(user, result.block());
+        Mockito.verify(userRepository, Mockito.never()).findByEmail("test@example.com");
     }
 
     @Test
@@ -60,9 +99,89 @@ class UserServiceImplTest {
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("test@example.com");
-        Mockito.when(userRepository.findByEmail("test@example.com")).thenReturn(Mono.just(user));
+        mockInsert("test@example.com", 0L);
         Mono<User> result = userService.createUser(user);
-        assertThrows(DatabaseException.class, () -> result.block());
+        assertThrows(DuplicateResourceException.class, () -> result.block());
+    }
+
+    @Test
+    void testCreateUserQueuesWelcomeNotification() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("welcome@example.com");
+        mockInsert("welcome@example.com", 1L);
+        PendingNotification welcome = new PendingNotification("/api/notifications/user-creation", "body");
+        Mockito.when(notificationClientService.userCreation(user)).thenReturn(welcome);
+        assertEquals(user, userService.createUserAndNotify(user).block());
+        Mockito.verify(notificationOutbox).enqueue(welcome);
+        Mockito.verify(notificationClientService, Mockito.never()).sendUserCreationNotification(user);
+    }
+
+    private void mockInsert(String email, long insertedRows) {
+        Mockito.when(userRepository.insertIfEmailAbsent(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.eq(email), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(Mono.just(insertedRows));
+    }
+
+    private static CreateUserRequest bulkRequest(String email) {
+        CreateUserRequest req = new CreateUserRequest();
+        req.setFirstName("John");
+        req.setLastName("Doe");
+        req.setEmail(email);
+        req.setPassword("Test@123456");
+        req.setRole(UserRole.USER);
+        req.setDateOfBirth(java.time.LocalDate.of(1990, 1, 1));
+        req.setGender(Gender.MALE);
+        req.setPhoneNumber("9876543210");
+        return req;
+    }
+
+    @Test
+    void testBulkCreateUsersReportsResultPerItem() {
+        CreateUserRequest valid = bulkRequest("new@example.com");
+        CreateUserRequest existing = bulkRequest("taken@example.com");
+        CreateUserRequest repeated = bulkRequest("new@example.com");
+        CreateUserRequest invalid = bulkRequest(null);
+        Mockito.when(userRepository.findEmailByEmailIn(Mockito.anyCollection()))
+                .thenReturn(Flux.just("taken@example.com"));
+        Mockito.when(userRepository.saveAll(Mockito.anyIterable())).thenAnswer(invocation -> {
+            Iterable<User> users = invocation.getArgument(0);
+            users.forEach(u -> u.setId(UUID.randomUUID()));
+            return Flux.fromIterable(users);
+        });
+        List<BulkCreateUserResult> results = userService
+                .bulkCreateUsers(Flux.just(valid, existing, repeated, invalid))
+                .collectList().block();
+        assertEquals(4, results.size());
+        assertEquals(BulkCreateUserResult.Status.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(BulkCreateUserResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(BulkCreateUserResult.Status.DUPLICATE, results.get(2).getStatus());
+        assertEquals(BulkCreateUserResult.Status.INVALID, results.get(3).getStatus());
+        Mockito.verify(notificationClientService, Mockito.never())
+                .sendUserCreationNotification(Mockito.any(User.class));
+    }
+
+    @Test
+    void testFailedBulkChunkIsRetriedRowByRow() {
+        Mockito.when(userRepository.findEmailByEmailIn(Mockito.anyCollection())).thenReturn(Flux.empty());
+        Mockito.when(userRepository.saveAll(Mockito.anyIterable()))
+                .thenReturn(Flux.error(new RuntimeException("batch failed")));
+        mockInsert("ok@example.com", 1L);
+        // Taken by a concurrent create after the chunk looked for existing emails
+        mockInsert("raced@example.com", 0L);
+        Mockito.when(userRepository.insertIfEmailAbsent(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.eq("bad@example.com"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any())).thenReturn(Mono.error(new RuntimeException("constraint users_pkey")));
+        List<BulkCreateUserResult> results = userService
+                .bulkCreateUsers(Flux.just(bulkRequest("ok@example.com"), bulkRequest("raced@example.com"),
+                        bulkRequest("bad@example.com")))
+                .collectList().block();
+        assertEquals(BulkCreateUserResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkCreateUserResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(BulkCreateUserResult.Status.FAILED, results.get(2).getStatus());
+        assertEquals("Could not create user", results.get(2).getMessage());
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
     }
 
     @Test
@@ -83,6 +202,64 @@ class UserServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> result.block());
     }
 
+    @Test
+    void testGetUserByIdIsServedFromCache() {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
+        userService.getUserById(id).block();
+        userService.getUserById(id).block();
+        assertEquals(user, userService.findByEmail(user.getEmail()).block());
+        Mockito.verify(userRepository, Mockito.times(1)).findById(id);
+        Mockito.verify(userRepository, Mockito.never()).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedUser() {
+        UUID id = UUID.randomUUID();
+        User cached = new User();
+        cached.setId(id);
+        cached.setEmail("cached@example.com");
+        User updated = new User();
+        updated.setId(id);
+        updated.setEmail("updated@example.com");
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(cached));
+        userService.getUserById(id).block();
+        Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(Mono.just(updated));
+        userService.updateUser(id, updated).block();
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(updated));
+        assertEquals("updated@example.com", userService.getUserById(id).block().getEmail());
+    }
+
+    @Test
+    void testGetUsersByIdsQueriesOnlyCacheMisses() {
+        User cached = new User();
+        cached.setId(UUID.randomUUID());
+        User loaded = new User();
+        loaded.setId(UUID.randomUUID());
+        UUID missing = UUID.randomUUID();
+        Mockito.when(userRepository.findById(cached.getId())).thenReturn(Mono.just(cached));
+        userService.getUserById(cached.getId()).block();
+        Mockito.when(userRepository.findByIdIn(List.of(loaded.getId(), missing))).thenReturn(Flux.just(loaded));
+        List<User> users = userService.getUsersByIds(List.of(cached.getId(), loaded.getId(), missing))
+                .collectList().block();
+        assertEquals(List.of(cached, loaded), users);
+    }
+
+    @Test
+    void testGetUserByIdWithSummaryFieldsUsesProjection() {
+        UUID id = UUID.randomUUID();
+        UserSummary summary = new UserSummary();
+        summary.setId(id);
+        summary.setEmail("summary@example.com");
+        Mockito.when(userRepository.findSummaryById(id)).thenReturn(Mono.just(summary));
+        User user = userService.getUserById(id, UserField.parse("id,email")).block();
+        assertEquals("summary@example.com", user.getEmail());
+        Mockito.verify(userRepository, Mockito.never()).findById(id);
+    }
+
     @Test
     void testUpdateUserSuccess() {
         UUID id = UUID.randomUUID();
@@ -105,8 +282,11 @@ class UserServiceImplTest {
         user.setId(id);
         Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
         Mockito.when(userRepository.deleteById(id)).thenReturn(Mono.empty());
-        Mono<Void> result = userService.deleteUser(id, "auth");
+        PendingNotification notification = new PendingNotification("/notify/account-deletion", "body");
+        Mockito.when(notificationClientService.accountDeletion(id, null)).thenReturn(notification);
+        Mono<Void> result = userService.deleteUser(id);
         assertDoesNotThrow(() -> { result.block(); });
+        Mockito.verify(notificationDispatchQueue).offer(notification);
     }
 
     @Test
@@ -133,9 +313,117 @@ class UserServiceImplTest {
         user.setPassword("old");
         Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
         Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(Mono.just(user));
-        Mockito.when(notificationClientService.sendPasswordResetApprovalNotification(id, user.getEmail())).thenReturn(Mono.empty());
+        PendingNotification approval = new PendingNotification("/notify/password-reset-approval", "body");
+        Mockito.when(notificationClientService.passwordResetApproval(id, user.getEmail())).thenReturn(approval);
+        Mockito.when(refreshTokenRepository.revokeAllForUser(Mockito.eq(id), Mockito.any())).thenReturn(Mono.just(2L));
         Mono<Void> result = userService.changePassword(id, "new");
         assertDoesNotThrow(() -> result.block());
+        Mockito.verify(refreshTokenRepository).revokeAllForUser(Mockito.eq(id), Mockito.any());
+        Mockito.verify(notificationOutbox).enqueue(approval);
+        assertNotEquals("new", user.getPassword());
+        assertTrue(passwordHasher.verify("new", user.getPassword()).block());
+    }
+
+    @Test
+    void testChangePasswordEvictsAfterCommit() {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id);
+        user.setPassword("old");
+        User stale = new User();
+        stale.setId(id);
+        stale.setPassword("old");
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
+        Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(Mono.just(user));
+        // Another request reads the user while the password change is still uncommitted
+        Mockito.when(refreshTokenRepository.revokeAllForUser(Mockito.eq(id), Mockito.any()))
+                .thenAnswer(invocation -> userCache.getById(id, () -> Mono.just(stale)).thenReturn(0L));
+        userService.changePassword(id, "new").block();
+        assertTrue(userCache.getIfPresent(id).isEmpty());
+    }
+
+    @Test
+    void testCreateUserStoresHashedPassword() {
+        User user = new User();
+        user.setEmail("hash@example.com");
+        user.setPassword("Test@123456");
+        mockInsert("hash@example.com", 1L);
+        userService.createUser(user).block();
+        Mockito.verify(userRepository).insertIfEmailAbsent(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.eq("hash@example.com"), Mockito.argThat(p -> p != null && p.startsWith("$2")), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        assertTrue(passwordHasher.verify("Test@123456", user.getPassword()).block());
+    }
+
+    @Test
+    void testPasswordChangeRequestStoresOnlyAHash() {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id);
+        user.setPassword(passwordHasher.hash("Current@123").block());
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
+        Mockito.when(userRepository.existsById(id)).thenReturn(Mono.just(true));
+        Mockito.when(passwordChangeRequestRepository.save(Mockito.any(PasswordChangeRequest.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        PasswordChangeRequestDTO request = new PasswordChangeRequestDTO();
+        request.setOldPassword("Current@123");
+        request.setNewPassword("Requested@123");
+        userService.requestPasswordChange(id, request).block();
+        ArgumentCaptor<PasswordChangeRequest> saved = ArgumentCaptor.forClass(PasswordChangeRequest.class);
+        Mockito.verify(passwordChangeRequestRepository).save(saved.capture());
+        assertNotEquals("Requested@123", saved.getValue().getNewPassword());
+        assertTrue(passwordHasher.verify("Requested@123", saved.getValue().getNewPassword()).block());
+    }
+
+    @Test
+    void testApprovalAppliesTheStoredHash() {
+        UUID id = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        User admin = new User();
+        admin.setId(adminId);
+        admin.setRole(UserRole.ADMIN);
+        User user = new User();
+        user.setId(id);
+        user.setPassword("old");
+        String hash = passwordHasher.hash("Requested@123").block();
+        PasswordChangeRequest pending = new PasswordChangeRequest();
+        pending.setUserId(id);
+        pending.setNewPassword(hash);
+        pending.setStatus(PasswordChangeStatus.PENDING);
+        Mockito.when(userRepository.findById(adminId)).thenReturn(Mono.just(admin));
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
+        Mockito.when(userRepository.update(Mockito.any(User.class))).thenReturn(Mono.just(user));
+        Mockito.when(refreshTokenRepository.revokeAllForUser(Mockito.eq(id), Mockito.any())).thenReturn(Mono.just(0L));
+        Mockito.when(passwordChangeRequestRepository.findByUserIdAndStatus(id, PasswordChangeStatus.PENDING))
+                .thenReturn(Mono.just(pending));
+        Mockito.when(passwordChangeRequestRepository.update(pending)).thenReturn(Mono.just(pending));
+        PasswordChangeApprovalDTO approval = new PasswordChangeApprovalDTO();
+        approval.setAdminId(adminId);
+        approval.setApproved(true);
+        userService.approvePasswordChange(id, approval).block();
+        assertEquals(hash, user.getPassword());
+        assertEquals(PasswordChangeStatus.APPROVED, pending.getStatus());
+    }
+
+    @Test
+    void testValidateCurrentPasswordAgainstHash() {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id);
+        user.setPassword(passwordHasher.hash("secret").block());
+        Mockito.when(userRepository.findById(id)).thenReturn(Mono.just(user));
+        assertTrue(userService.validateCurrentPassword(id, "secret").block());
+        assertFalse(userService.validateCurrentPassword(id, "wrong").block());
+    }
+
+    @Test
+    void testUpgradePasswordHashOnlyReplacesUnchangedPassword() {
+        UUID id = UUID.randomUUID();
+        Mockito.when(userRepository.updatePasswordIfUnchanged(Mockito.eq(id), Mockito.eq("plain"), Mockito.anyString()))
+                .thenReturn(Mono.just(1L));
+        userService.upgradePasswordHash(id, "plain", "plain").block();
+        Mockito.verify(userRepository).updatePasswordIfUnchanged(Mockito.eq(id), Mockito.eq("plain"),
+                Mockito.argThat(hash -> passwordHasher.verify("plain", hash).block()));
     }
 
 
@@ -151,6 +439,99 @@ class UserServiceImplTest {
         assertEquals(2, users.size());
     }
 
+    @Test
+    void testGetUsersAfterUsesKeysetQuery() {
+        UUID afterId = UUID.randomUUID();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Mockito.when(userRepository.findByIdGreaterThan(Mockito.eq(afterId), Mockito.any(Pageable.class)))
+                .thenReturn(Flux.just(user));
+        List<User> users = userService.getUsersAfter(afterId, 10).collectList().block();
+        assertEquals(1, users.size());
+        Mockito.verify(userRepository, Mockito.never()).findAll(Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void testStreamAllUsersWalksKeysetChunks() {
+        User first = new User();
+        first.setId(UUID.randomUUID());
+        User second = new User();
+        second.setId(UUID.randomUUID());
+        User third = new User();
+        third.setId(UUID.randomUUID());
+        Mockito.when(userRepository.findAll(Mockito.any(Pageable.class))).thenReturn(Flux.just(first, second));
+        Mockito.when(userRepository.findByIdGreaterThan(Mockito.eq(second.getId()), Mockito.any(Pageable.class)))
+                .thenReturn(Flux.just(third));
+        List<User> users = userService.streamAllUsers().collectList().block();
+        assertEquals(List.of(first, second, third), users);
+    }
+
+    @Test
+    void testStreamAllUsersQueriesNextChunkOnlyAfterDrainingTheCurrentOne() {
+        List<User> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            rows.add(user);
+        }
+        Mockito.when(userRepository.findAll(Mockito.any(Pageable.class)))
+                .thenReturn(Flux.just(rows.get(0), rows.get(1)));
+        Mockito.when(userRepository.findByIdGreaterThan(Mockito.eq(rows.get(1).getId()), Mockito.any(Pageable.class)))
+                .thenReturn(Flux.just(rows.get(2), rows.get(3)));
+        Mockito.when(userRepository.findByIdGreaterThan(Mockito.eq(rows.get(3).getId()), Mockito.any(Pageable.class)))
+                .thenReturn(Flux.just(rows.get(4)));
+        List<User> received = new ArrayList<>();
+        BaseSubscriber<User> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(User user) {
+                received.add(user);
+            }
+        };
+        userService.streamAllUsers().subscribe(subscriber);
+        assertEquals(List.of(rows.get(0)), received);
+        Mockito.verify(userRepository, Mockito.never())
+                .findByIdGreaterThan(Mockito.eq(rows.get(3).getId()), Mockito.any(Pageable.class));
+        subscriber.request(2);
+        assertEquals(rows.subList(0, 3), received);
+        Mockito.verify(userRepository)
+                .findByIdGreaterThan(Mockito.eq(rows.get(3).getId()), Mockito.any(Pageable.class));
+        subscriber.request(2);
+        assertEquals(rows, received);
+    }
+
+    @Test
+    void testGetPendingPasswordChangeRequestsUsesJoinedPage() {
+        PendingPasswordChangeRequestView view = new PendingPasswordChangeRequestView();
+        view.setId(UUID.randomUUID());
+        view.setUserEmail("pending@example.com");
+        Mockito.when(passwordChangeRequestRepository.findWithUserByStatus("PENDING", 20))
+                .thenReturn(Flux.just(view));
+        List<PendingPasswordChangeRequestView> views = userService.getPendingPasswordChangeRequestsAfter(null, null, 20)
+                .collectList().block();
+        assertEquals(List.of(view), views);
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.any(UUID.class));
+    }
+
+    @Test
+    void testGetPendingPasswordChangeRequestsContinuesFromCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        UUID afterId = UUID.randomUUID();
+        PendingPasswordChangeRequestView view = new PendingPasswordChangeRequestView();
+        view.setId(UUID.randomUUID());
+        Mockito.when(passwordChangeRequestRepository.findWithUserByStatusAfter("PENDING", createdAt, afterId, 20))
+                .thenReturn(Flux.just(view));
+        List<PendingPasswordChangeRequestView> views = userService
+                .getPendingPasswordChangeRequestsAfter(createdAt, afterId, 20).collectList().block();
+        assertEquals(List.of(view), views);
+        Mockito.verify(passwordChangeRequestRepository, Mockito.never()).findWithUserByStatus(Mockito.any(),
+                Mockito.anyInt());
+    }
+
     @Test
     void testCreateAddressSuccess() {
         Address address = new Address();